@@ -0,0 +1,268 @@
+package com.puthelp.cache;
+
+import com.puthelp.util.TransactionUtils;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps node-local caches coherent across backend replicas using Redis pub/sub.
+ *
+ * Every mutation increments a per-region generation counter in Redis and broadcasts
+ * "region|generation|node|key", both in one Lua script so messages go out in generation order.
+ * Listeners on the publishing node are notified directly, other nodes are notified when the
+ * message arrives. A jump in the generation, seen in a message or in Redis during
+ * reconciliation, records the skipped generations as gaps. A gap the late message fills is
+ * forgotten; one still open after the grace window means a lost message (e.g. during a
+ * reconnect), and the node drops the whole region.
+ */
+@Component
+public class CacheInvalidationBus implements MessageListener {
+    
+    public static final String CHANNEL = "cache_invalidation";
+    
+    public static final String EVICT_ALL_KEY = "*";
+    
+    private static final String GENERATION_KEY_PREFIX = "cache_generation:";
+    
+    // Gaps wider than this are not tracked one by one; the region is dropped at once
+    private static final int MAX_TRACKED_GAP = 64;
+    
+    // KEYS[1] generation counter; ARGV channel, region, node, key
+    private static final RedisScript<Long> PUBLISH_SCRIPT = new DefaultRedisScript<>(
+            "local generation = redis.call('INCR', KEYS[1]) "
+            + "redis.call('PUBLISH', ARGV[1], ARGV[2] .. '|' .. generation .. '|' .. ARGV[3] .. '|' .. ARGV[4]) "
+            + "return generation",
+            Long.class);
+    
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBus.class);
+    
+    @Autowired
+    private RedisTemplate<String, String> redisTemplate;
+    
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    
+    private final Map<CacheRegion, List<CacheInvalidationListener>> listeners = new EnumMap<>(CacheRegion.class);
+    
+    private final Map<CacheRegion, AtomicLong> seenGenerations = new EnumMap<>(CacheRegion.class);
+    
+    // Skipped generations per region mapped to the time they count as lost; guarded by the map
+    private final Map<CacheRegion, Map<Long, Long>> gaps = new EnumMap<>(CacheRegion.class);
+    
+    @Value("${cache.invalidation.gap-grace}")
+    private long gapGrace;
+    
+    public CacheInvalidationBus() {
+        for (CacheRegion region : CacheRegion.values()) {
+            listeners.put(region, new CopyOnWriteArrayList<>());
+            seenGenerations.put(region, new AtomicLong());
+            gaps.put(region, new HashMap<>());
+        }
+    }
+    
+    @PostConstruct
+    public void init() {
+        // Nothing is cached yet, so the current generations are adopted without evicting
+        for (CacheRegion region : CacheRegion.values()) {
+            try {
+                seenGenerations.get(region).set(readGeneration(region));
+            } catch (Exception e) {
+                logger.warn("Cannot read cache generation of {}: {}", region, e.getMessage());
+            }
+        }
+    }
+    
+    public void register(CacheRegion region, CacheInvalidationListener listener) {
+        listeners.get(region).add(listener);
+    }
+    
+    public void publish(CacheRegion region, String key) {
+        notifyLocal(region, key);
+        
+        try {
+            Long generation = redisTemplate.execute(PUBLISH_SCRIPT, List.of(generationKey(region)),
+                    CHANNEL, region.name(), nodeId, key);
+            if (generation != null && advance(region, generation)) {
+                notifyLocal(region, EVICT_ALL_KEY);
+            }
+        } catch (Exception e) {
+            logger.warn("Cannot broadcast invalidation of {} {}: {}", region, key, e.getMessage());
+        }
+    }
+    
+    public void publish(CacheRegion region, Long id) {
+        publish(region, String.valueOf(id));
+    }
+    
+    public void publishAll(CacheRegion region) {
+        publish(region, EVICT_ALL_KEY);
+    }
+    
+    /**
+     * Publishes once the current transaction commits, so no node can reload the old row afterwards.
+     */
+    public void publishAfterCommit(CacheRegion region, Long id) {
+        TransactionUtils.afterCommit(() -> publish(region, id));
+    }
+    
+    /**
+     * Highest generation this node has seen. Node-local: it lags behind other nodes until their
+     * messages arrive, so it must not end up in anything clients compare across nodes.
+     */
+    public long getGeneration(CacheRegion region) {
+        return seenGenerations.get(region).get();
+    }
+    
+    /**
+     * Current generation in Redis, the same on every node.
+     * @return the generation, or empty when Redis cannot be reached
+     */
+    public OptionalLong getSharedGeneration(CacheRegion region) {
+        try {
+            return OptionalLong.of(readGeneration(region));
+        } catch (Exception e) {
+            logger.warn("Cannot read cache generation of {}: {}", region, e.getMessage());
+            return OptionalLong.empty();
+        }
+    }
+    
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 4);
+        if (parts.length != 4) {
+            logger.warn("Ignoring malformed cache invalidation message");
+            return;
+        }
+        
+        try {
+            CacheRegion region = CacheRegion.valueOf(parts[0]);
+            long generation = Long.parseLong(parts[1]);
+            boolean missed = advance(region, generation);
+            
+            if (missed) {
+                logger.info("Missed too many invalidations for {} before generation {}, evicting region",
+                        region, generation);
+                notifyLocal(region, EVICT_ALL_KEY);
+            } else if (!nodeId.equals(parts[2])) {
+                notifyLocal(region, parts[3]);
+            }
+        } catch (IllegalArgumentException e) {
+            logger.warn("Ignoring malformed cache invalidation message: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Compares local generations with Redis to catch messages lost while the subscription was down.
+     * Generations not yet seen become gaps, since their messages may still be in flight.
+     */
+    @Scheduled(fixedDelayString = "${cache.invalidation.reconcile-interval}")
+    public void reconcile() {
+        for (CacheRegion region : CacheRegion.values()) {
+            try {
+                long current = readGeneration(region);
+                if (recordGaps(region, seenGenerations.get(region).get() + 1, current + 1)) {
+                    notifyLocal(region, EVICT_ALL_KEY);
+                }
+            } catch (Exception e) {
+                logger.warn("Cannot reconcile cache generation of {}: {}", region, e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Drops every region with a gap that stayed open past the grace window.
+     */
+    @Scheduled(fixedDelayString = "${cache.invalidation.gap-grace}")
+    public void evictUnfilledGaps() {
+        long now = System.currentTimeMillis();
+        for (CacheRegion region : CacheRegion.values()) {
+            Map<Long, Long> regionGaps = gaps.get(region);
+            boolean lost;
+            synchronized (regionGaps) {
+                lost = regionGaps.values().stream().anyMatch(deadline -> deadline <= now);
+                if (lost) {
+                    // The eviction covers every change committed so far, including the other gaps
+                    regionGaps.clear();
+                }
+            }
+            if (lost) {
+                logger.info("Missed invalidations for {}, evicting region", region);
+                notifyLocal(region, EVICT_ALL_KEY);
+            }
+        }
+    }
+    
+    // Marks a generation as seen; returns true if the region must be dropped right away
+    private boolean advance(CacheRegion region, long generation) {
+        Map<Long, Long> regionGaps = gaps.get(region);
+        synchronized (regionGaps) {
+            boolean filled = regionGaps.remove(generation) != null;
+            long previous = seenGenerations.get(region).getAndAccumulate(generation, Math::max);
+            if (filled || generation <= previous + 1) {
+                return false;
+            }
+            return recordGaps(region, previous + 1, generation);
+        }
+    }
+    
+    // Records generations in [from, to) as gaps and marks them seen, so a gap is only ever opened
+    // once; returns true if there are too many to wait for
+    private boolean recordGaps(CacheRegion region, long from, long to) {
+        Map<Long, Long> regionGaps = gaps.get(region);
+        synchronized (regionGaps) {
+            seenGenerations.get(region).getAndAccumulate(to - 1, Math::max);
+            if (to - from > MAX_TRACKED_GAP) {
+                regionGaps.clear();
+                return true;
+            }
+            
+            long deadline = System.currentTimeMillis() + gapGrace;
+            for (long generation = from; generation < to; generation++) {
+                regionGaps.putIfAbsent(generation, deadline);
+            }
+            return false;
+        }
+    }
+    
+    private void notifyLocal(CacheRegion region, String key) {
+        for (CacheInvalidationListener listener : listeners.get(region)) {
+            try {
+                if (EVICT_ALL_KEY.equals(key)) {
+                    listener.onEvictAll();
+                } else {
+                    listener.onEvict(key);
+                }
+            } catch (Exception e) {
+                logger.error("Cache invalidation listener failed for {} {}: {}", region, key, e.getMessage());
+            }
+        }
+    }
+    
+    private long readGeneration(CacheRegion region) {
+        String value = redisTemplate.opsForValue().get(generationKey(region));
+        return value != null ? Long.parseLong(value) : 0L;
+    }
+    
+    private String generationKey(CacheRegion region) {
+        return GENERATION_KEY_PREFIX + region.name().toLowerCase();
+    }
+}
@@ -0,0 +1,15 @@
+package com.puthelp.cache;
+
+public interface CacheInvalidationListener {
+    
+    /**
+     * Called when a single entry of the region changed on this or another node.
+     * @param key the entry key, e.g. the entity id
+     */
+    void onEvict(String key);
+    
+    /**
+     * Called when the whole region must be dropped, e.g. after invalidation messages were missed.
+     */
+    void onEvictAll();
+}
@@ -0,0 +1,8 @@
+package com.puthelp.cache;
+
+public enum CacheRegion {
+    CONTENT,
+    CATEGORY,
+    KIERUNEK,
+    PRINCIPAL
+}
@@ -0,0 +1,91 @@
+package com.puthelp.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.puthelp.dto.content.ContentDto;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of published content, keyed by content id.
+ * Only published content is cached; drafts and missing ids always go to the database.
+ * Entries are evicted through the {@link CacheInvalidationBus} on every node.
+ */
+@Component
+public class ContentCache {
+    
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+    
+    private final Cache<Long, ContentDto> cache;
+    
+    public ContentCache(@Value("${content.cache.max-size}") long maxSize,
+                        @Value("${content.cache.expire-after-write}") long expireAfterWriteMs) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(expireAfterWriteMs))
+                .recordStats()
+                .build();
+    }
+    
+    @PostConstruct
+    public void registerInvalidation() {
+        cacheInvalidationBus.register(CacheRegion.CONTENT, new CacheInvalidationListener() {
+            @Override
+            public void onEvict(String key) {
+                cache.invalidate(Long.valueOf(key));
+            }
+            
+            @Override
+            public void onEvictAll() {
+                cache.invalidateAll();
+            }
+        });
+        
+        // Cached DTOs embed category and kierunek names
+        CacheInvalidationListener evictAll = new CacheInvalidationListener() {
+            @Override
+            public void onEvict(String key) {
+                cache.invalidateAll();
+            }
+            
+            @Override
+            public void onEvictAll() {
+                cache.invalidateAll();
+            }
+        };
+        cacheInvalidationBus.register(CacheRegion.CATEGORY, evictAll);
+        cacheInvalidationBus.register(CacheRegion.KIERUNEK, evictAll);
+    }
+    
+    public Optional<ContentDto> get(Long id, Function<Long, Optional<ContentDto>> loader) {
+        // Absent values are not cached; concurrent readers of the same id wait for a single load
+        return Optional.ofNullable(cache.get(id, key -> loader.apply(key).orElse(null)));
+    }
+    
+    public Optional<ContentDto> getIfPresent(Long id) {
+        return Optional.ofNullable(cache.getIfPresent(id));
+    }
+    
+    public Map<String, Object> getStats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictionCount", stats.evictionCount());
+        result.put("loadSuccessCount", stats.loadSuccessCount());
+        result.put("loadFailureCount", stats.loadFailureCount());
+        return result;
+    }
+}
@@ -0,0 +1,51 @@
+package com.puthelp.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Total row counts of content listings, keyed by filter (e.g. "published", "kierunek:3").
+ * Any content change can move rows between filters, so every CONTENT event drops all counts.
+ */
+@Component
+public class ContentCountCache {
+    
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+    
+    private final Cache<String, Long> cache;
+    
+    public ContentCountCache(@Value("${content.count-cache.max-size}") long maxSize,
+                             @Value("${content.count-cache.expire-after-write}") long expireAfterWriteMs) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(expireAfterWriteMs))
+                .build();
+    }
+    
+    @PostConstruct
+    public void registerInvalidation() {
+        cacheInvalidationBus.register(CacheRegion.CONTENT, new CacheInvalidationListener() {
+            @Override
+            public void onEvict(String key) {
+                cache.invalidateAll();
+            }
+            
+            @Override
+            public void onEvictAll() {
+                cache.invalidateAll();
+            }
+        });
+    }
+    
+    public long get(String filterKey, Supplier<Long> counter) {
+        return cache.get(filterKey, key -> counter.get());
+    }
+}
@@ -0,0 +1,149 @@
+package com.puthelp.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Final response bytes of the most requested public listings (the first page of
+ * /content/public in the sizes the frontend asks for), stored as JSON and gzip.
+ *
+ * Hits are written to the response as they are, without Jackson or compression on the request
+ * path. Content, category and kierunek events drop every entry; a generation counter keeps a
+ * load that overlapped an invalidation from storing its possibly stale bytes.
+ */
+@Component
+public class HotPageCache {
+    
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${content.hot-pages.sizes}")
+    private Set<Integer> sizes;
+    
+    // Bounds how stale view counts in a cached page can get; view flushes publish no events
+    @Value("${content.hot-pages.expire-after-write}")
+    private long expireAfterWriteMs;
+    
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    
+    private final AtomicLong generation = new AtomicLong();
+    
+    @PostConstruct
+    public void registerInvalidation() {
+        // Summaries embed category and kierunek names as well
+        CacheInvalidationListener clear = new CacheInvalidationListener() {
+            @Override
+            public void onEvict(String key) {
+                clear();
+            }
+            
+            @Override
+            public void onEvictAll() {
+                clear();
+            }
+        };
+        cacheInvalidationBus.register(CacheRegion.CONTENT, clear);
+        cacheInvalidationBus.register(CacheRegion.CATEGORY, clear);
+        cacheInvalidationBus.register(CacheRegion.KIERUNEK, clear);
+    }
+    
+    public boolean isHotSize(int size) {
+        return sizes.contains(size);
+    }
+    
+    /**
+     * Serves a cached page, loading and serializing it on a miss.
+     * @param key identifies the query shape, e.g. "published:6"
+     * @param loader produces the response body on a miss
+     * @param acceptEncoding the request's Accept-Encoding header, may be null
+     */
+    public ResponseEntity<byte[]> respond(String key, Supplier<?> loader, String acceptEncoding) {
+        Entry entry = entries.get(key);
+        if (entry == null || entry.isExpired(expireAfterWriteMs)) {
+            entry = load(key, loader);
+        }
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(entry.gzip());
+        }
+        return response.body(entry.json());
+    }
+    
+    private Entry load(String key, Supplier<?> loader) {
+        long loadGeneration = generation.get();
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(loader.get());
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Cannot serialize page " + key, e);
+        }
+        Entry loaded = new Entry(json, gzip(json), System.currentTimeMillis());
+        
+        // Only store bytes no invalidation has overtaken; the second check closes the gap
+        // between the first one and the put
+        if (generation.get() == loadGeneration) {
+            entries.put(key, loaded);
+            if (generation.get() != loadGeneration) {
+                entries.remove(key, loaded);
+            }
+        }
+        return loaded;
+    }
+    
+    private void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+    
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+    
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+    
+    private record Entry(byte[] json, byte[] gzip, long loadedAt) {
+        boolean isExpired(long expireAfterWriteMs) {
+            return System.currentTimeMillis() - loadedAt > expireAfterWriteMs;
+        }
+    }
+}
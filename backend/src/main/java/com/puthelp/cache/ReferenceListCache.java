@@ -0,0 +1,113 @@
+package com.puthelp.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.puthelp.util.HttpCaching;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Public category and kierunek lists as immutable snapshots of their serialized JSON,
+ * tagged with a hash of those bytes.
+ *
+ * A snapshot is dropped when its region receives an invalidation, i.e. when a create,
+ * update or delete on that controller changed data on any node, and rebuilt by the next
+ * request. Every other request copies the bytes, or answers 304 when the tag matches.
+ */
+@Component
+public class ReferenceListCache {
+    
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private final Map<CacheRegion, Snapshot> snapshots = new ConcurrentHashMap<>();
+    
+    private final Map<CacheRegion, AtomicLong> generations = new EnumMap<>(CacheRegion.class);
+    
+    public ReferenceListCache() {
+        for (CacheRegion region : CacheRegion.values()) {
+            generations.put(region, new AtomicLong());
+        }
+    }
+    
+    @PostConstruct
+    public void registerInvalidation() {
+        register(CacheRegion.CATEGORY);
+        register(CacheRegion.KIERUNEK);
+    }
+    
+    /**
+     * Serves the region's list from its snapshot, building the snapshot on first use.
+     * @param loader reads the list from the database when no snapshot exists
+     * @return the JSON bytes, or null when the 304 has been prepared on the response
+     */
+    public ResponseEntity<byte[]> respond(CacheRegion region, Supplier<?> loader, ServletWebRequest webRequest) {
+        Snapshot snapshot = snapshots.get(region);
+        if (snapshot == null) {
+            snapshot = load(region, loader);
+        }
+        
+        if (HttpCaching.notModified(webRequest, snapshot.etag(), -1)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.json());
+    }
+    
+    private Snapshot load(CacheRegion region, Supplier<?> loader) {
+        AtomicLong generation = generations.get(region);
+        long loadGeneration = generation.get();
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(loader.get());
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Cannot serialize " + region + " list", e);
+        }
+        Snapshot loaded = new Snapshot(json, HttpCaching.etag(region.name().toLowerCase(), HttpCaching.hash(json)));
+        
+        // A change committed during the load invalidates what was read; serve it once, never store it
+        if (generation.get() == loadGeneration) {
+            snapshots.put(region, loaded);
+            if (generation.get() != loadGeneration) {
+                snapshots.remove(region, loaded);
+            }
+        }
+        return loaded;
+    }
+    
+    private void register(CacheRegion region) {
+        cacheInvalidationBus.register(region, new CacheInvalidationListener() {
+            @Override
+            public void onEvict(String key) {
+                invalidate(region);
+            }
+            
+            @Override
+            public void onEvictAll() {
+                invalidate(region);
+            }
+        });
+    }
+    
+    private void invalidate(CacheRegion region) {
+        generations.get(region).incrementAndGet();
+        snapshots.remove(region);
+    }
+    
+    private record Snapshot(byte[] json, String etag) {
+    }
+}
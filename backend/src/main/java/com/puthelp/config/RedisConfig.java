@@ -1,10 +1,14 @@
 package com.puthelp.config;
 
+import com.puthelp.cache.CacheInvalidationBus;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
 public class RedisConfig {
@@ -23,4 +27,25 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
+    
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       CacheInvalidationBus cacheInvalidationBus) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        
+        // One dispatch thread keeps messages in the order Redis delivered them; the default
+        // executor starts a thread per message, so invalidation generations arrived out of order
+        ThreadPoolTaskExecutor dispatcher = new ThreadPoolTaskExecutor();
+        dispatcher.setCorePoolSize(1);
+        dispatcher.setMaxPoolSize(1);
+        dispatcher.setDaemon(true);
+        dispatcher.setThreadNamePrefix("redis-listener-");
+        dispatcher.initialize();
+        container.setTaskExecutor(dispatcher);
+        
+        // Cross-node cache invalidation messages
+        container.addMessageListener(cacheInvalidationBus, new ChannelTopic(CacheInvalidationBus.CHANNEL));
+        return container;
+    }
 }
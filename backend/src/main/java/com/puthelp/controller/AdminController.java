@@ -0,0 +1,47 @@
+package com.puthelp.controller;
+
+import com.puthelp.cache.ContentCache;
+import com.puthelp.dto.response.MessageResponse;
+import com.puthelp.dto.response.SystemStatsResponse;
+import com.puthelp.search.SearchBackend;
+import com.puthelp.service.AdminStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/admin")
+public class AdminController {
+    
+    @Autowired
+    private ContentCache contentCache;
+    
+    @Autowired
+    private SearchBackend searchBackend;
+    
+    @Autowired
+    private AdminStatsService adminStatsService;
+    
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SystemStatsResponse> getSystemStats() {
+        return ResponseEntity.ok(adminStatsService.getStats());
+    }
+    
+    @GetMapping("/cache/content")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getContentCacheStats() {
+        return ResponseEntity.ok(contentCache.getStats());
+    }
+    
+    @PostMapping("/search/reindex")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<MessageResponse> reindexSearch() {
+        long indexed = searchBackend.rebuildIndex();
+        return ResponseEntity.ok(new MessageResponse("Search index rebuilt with " + indexed + " documents"));
+    }
+}
@@ -14,14 +14,19 @@ import com.puthelp.repository.RoleRepository;
 import com.puthelp.repository.UserRepository;
 import com.puthelp.security.CustomPasswordEncoder;
 import com.puthelp.security.JwtUtils;
+import com.puthelp.security.PrincipalCache;
+import com.puthelp.security.RevocationList;
+import com.puthelp.security.SessionStore;
 import com.puthelp.security.UserPrincipal;
+import com.puthelp.security.VerifiedToken;
+import com.puthelp.service.AdminStatsService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -32,8 +37,8 @@ import org.springframework.web.bind.annotation.*;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -60,7 +65,16 @@ public class AuthController {
     JwtUtils jwtUtils;
     
     @Autowired
-    RedisTemplate<String, String> redisTemplate;
+    AdminStatsService adminStatsService;
+    
+    @Autowired
+    PrincipalCache principalCache;
+    
+    @Autowired
+    RevocationList revocationList;
+    
+    @Autowired
+    SessionStore sessionStore;
     
     @PostMapping("/signin")
     public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
@@ -80,18 +94,19 @@ public class AuthController {
         }
         
         UserPrincipal userPrincipal = UserPrincipal.create(user);
-        String accessToken = jwtUtils.generateAccessToken(userPrincipal.getUsername());
-        String refreshToken = jwtUtils.generateRefreshToken(userPrincipal.getUsername());
+        String sessionId = sessionStore.newSessionId();
+        String accessToken = jwtUtils.generateAccessToken(userPrincipal, sessionId);
+        String refreshToken = jwtUtils.generateRefreshToken(userPrincipal.getUsername(), sessionId);
         
         List<String> roles = userPrincipal.getAuthorities().stream()
                 .map(item -> item.getAuthority())
                 .collect(Collectors.toList());
         
-        // Store both tokens in Redis
-        String accessSessionKey = "access_session:" + user.getUsername();
-        String refreshSessionKey = "refresh_session:" + user.getUsername();
-        redisTemplate.opsForValue().set(accessSessionKey, accessToken, 15, TimeUnit.MINUTES);
-        redisTemplate.opsForValue().set(refreshSessionKey, refreshToken, 3, TimeUnit.HOURS);
+        // Open a new session next to the user's other devices. Sessions closed to stay within
+        // the per-user limit must stop working on nodes that cached their tokens
+        if (sessionStore.signin(user.getUsername(), sessionId, accessToken, refreshToken) > 0) {
+            principalCache.evict(user.getUsername());
+        }
         
         return ResponseEntity.ok(new JwtResponse(accessToken, refreshToken,
                 userPrincipal.getId(),
@@ -136,23 +151,31 @@ public class AuthController {
         
         user.setRoles(roles);
         userRepository.save(user);
+        adminStatsService.userChanged(null, null, roles, user.getIsActive());
         
         return ResponseEntity.ok(new MessageResponse("User registered successfully!"));
     }
     
     @PostMapping("/signout")
-    public ResponseEntity<?> logoutUser() {
+    public ResponseEntity<?> logoutUser(HttpServletRequest request) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         
         if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal) {
             UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
             String username = userPrincipal.getUsername();
             
-            // Remove both tokens from Redis
-            String accessSessionKey = "access_session:" + username;
-            String refreshSessionKey = "refresh_session:" + username;
-            redisTemplate.delete(accessSessionKey);
-            redisTemplate.delete(refreshSessionKey);
+            // Only the session of the presented token ends; other devices stay signed in
+            presentedToken(request).ifPresent(token -> {
+                if (token.sessionId() != null) {
+                    sessionStore.signout(username, token.sessionId());
+                }
+                
+                // Stateless nodes accept any unexpired token, so it is also revoked by id
+                if (token.id() != null) {
+                    revocationList.revokeToken(token.id(), token.expiresAt());
+                }
+            });
+            principalCache.evict(username);
         }
         
         return ResponseEntity.ok(new MessageResponse("User signed out successfully!"));
@@ -164,18 +187,15 @@ public class AuthController {
             String refreshToken = refreshTokenRequest.getRefreshToken();
             
             // Validate refresh token
-            if (!jwtUtils.validateJwtToken(refreshToken) || !jwtUtils.isRefreshToken(refreshToken)) {
+            Optional<VerifiedToken> verified = jwtUtils.verify(refreshToken);
+            if (verified.isEmpty() || !verified.get().isRefreshToken()) {
                 return ResponseEntity.badRequest()
                         .body(new MessageResponse("Error: Invalid refresh token!"));
             }
             
-            String username = jwtUtils.getUsernameFromJwtToken(refreshToken);
-            
-            // Check if refresh token exists in Redis
-            String refreshSessionKey = "refresh_session:" + username;
-            String storedRefreshToken = redisTemplate.opsForValue().get(refreshSessionKey);
-            
-            if (storedRefreshToken == null || !storedRefreshToken.equals(refreshToken)) {
+            String username = verified.get().subject();
+            String sessionId = verified.get().sessionId();
+            if (sessionId == null) {
                 return ResponseEntity.badRequest()
                         .body(new MessageResponse("Error: Refresh token not found or invalid!"));
             }
@@ -191,17 +211,19 @@ public class AuthController {
             
             // Generate new token pair
             UserPrincipal userPrincipal = UserPrincipal.create(user);
-            String newAccessToken = jwtUtils.generateAccessToken(username);
-            String newRefreshToken = jwtUtils.generateRefreshToken(username);
+            String newAccessToken = jwtUtils.generateAccessToken(userPrincipal, sessionId);
+            String newRefreshToken = jwtUtils.generateRefreshToken(username, sessionId);
             
             List<String> roles = userPrincipal.getAuthorities().stream()
                     .map(item -> item.getAuthority())
                     .collect(Collectors.toList());
             
-            // Update tokens in Redis
-            String accessSessionKey = "access_session:" + username;
-            redisTemplate.opsForValue().set(accessSessionKey, newAccessToken, 15, TimeUnit.MINUTES);
-            redisTemplate.opsForValue().set(refreshSessionKey, newRefreshToken, 3, TimeUnit.HOURS);
+            // Swap the tokens only if this refresh token is still the session's current one,
+            // so of two concurrent refreshes exactly one succeeds
+            if (!sessionStore.rotate(username, sessionId, refreshToken, newAccessToken, newRefreshToken)) {
+                return ResponseEntity.badRequest()
+                        .body(new MessageResponse("Error: Refresh token not found or invalid!"));
+            }
             
             return ResponseEntity.ok(new JwtResponse(newAccessToken, newRefreshToken,
                     userPrincipal.getId(),
@@ -257,9 +279,10 @@ public class AuthController {
             // Save the updated user
             userRepository.save(user);
             
-            // Invalidate current session (optional - forces re-login)
-            String sessionKey = "session:" + username;
-            redisTemplate.delete(sessionKey);
+            // End every session, forcing a new login on all devices
+            sessionStore.revokeAll(username);
+            principalCache.evict(username);
+            revocationList.revokeUser(username);
             
             return ResponseEntity.ok(new MessageResponse("Password changed successfully!"));
             
@@ -321,11 +344,15 @@ public class AuthController {
             Role newRole = roleRepository.findByName(roleEnum)
                     .orElseThrow(() -> new RuntimeException("Error: Role not found."));
             
+            Set<Role> oldRoles = user.getRoles();
             Set<Role> roles = new HashSet<>();
             roles.add(newRole);
             user.setRoles(roles);
             
             userRepository.save(user);
+            adminStatsService.userChanged(oldRoles, user.getIsActive(), roles, user.getIsActive());
+            principalCache.evict(user.getUsername());
+            revocationList.revokeUser(user.getUsername());
             
             return ResponseEntity.ok(new MessageResponse("User role updated successfully!"));
         } catch (Exception e) {
@@ -341,10 +368,17 @@ public class AuthController {
             User user = userRepository.findById(id)
                     .orElseThrow(() -> new RuntimeException("Error: User not found."));
             
+            Boolean wasActive = user.getIsActive();
             Boolean isActive = statusData.get("isActive");
             user.setIsActive(isActive);
             
             userRepository.save(user);
+            adminStatsService.userChanged(user.getRoles(), wasActive, user.getRoles(), isActive);
+            if (!Boolean.TRUE.equals(isActive)) {
+                sessionStore.revokeAll(user.getUsername());
+            }
+            principalCache.evict(user.getUsername());
+            revocationList.revokeUser(user.getUsername());
             
             return ResponseEntity.ok(new MessageResponse("User status updated successfully!"));
         } catch (Exception e) {
@@ -361,6 +395,10 @@ public class AuthController {
                     .orElseThrow(() -> new RuntimeException("Error: User not found."));
             
             userRepository.delete(user);
+            adminStatsService.userChanged(user.getRoles(), user.getIsActive(), null, null);
+            sessionStore.revokeAll(user.getUsername());
+            principalCache.evict(user.getUsername());
+            revocationList.revokeUser(user.getUsername());
             
             return ResponseEntity.ok(new MessageResponse("User deleted successfully!"));
         } catch (Exception e) {
@@ -368,4 +406,12 @@ public class AuthController {
                     .body(new MessageResponse("Error: " + e.getMessage()));
         }
     }
+    
+    private Optional<VerifiedToken> presentedToken(HttpServletRequest request) {
+        String headerAuth = request.getHeader("Authorization");
+        if (headerAuth == null || !headerAuth.startsWith("Bearer ")) {
+            return Optional.empty();
+        }
+        return jwtUtils.verify(headerAuth.substring(7));
+    }
 }
@@ -1,8 +1,12 @@
 package com.puthelp.controller;
 
+import com.puthelp.cache.CacheInvalidationBus;
+import com.puthelp.cache.CacheRegion;
+import com.puthelp.cache.ReferenceListCache;
 import com.puthelp.dto.response.MessageResponse;
 import com.puthelp.entity.Category;
 import com.puthelp.repository.CategoryRepository;
+import com.puthelp.util.HttpCaching;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -12,9 +16,10 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
-import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -24,15 +29,28 @@ public class CategoryController {
     @Autowired
     private CategoryRepository categoryRepository;
     
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+    
+    @Autowired
+    private ReferenceListCache referenceListCache;
+    
     // Public endpoints
     @GetMapping("/public")
-    public ResponseEntity<List<Category>> getAllActiveCategories() {
-        List<Category> categories = categoryRepository.findByIsActiveTrue();
-        return ResponseEntity.ok(categories);
+    public ResponseEntity<byte[]> getAllActiveCategories(ServletWebRequest webRequest) {
+        // Pre-serialized snapshot, rebuilt only after a write to this list
+        return referenceListCache.respond(CacheRegion.CATEGORY, categoryRepository::findByIsActiveTrue, webRequest);
     }
     
     @GetMapping("/public/{id}")
-    public ResponseEntity<Category> getCategoryById(@PathVariable Long id) {
+    public ResponseEntity<Category> getCategoryById(@PathVariable Long id, ServletWebRequest webRequest) {
+        // The shared generation gives every node the same tag; without it the request is served in full
+        OptionalLong generation = cacheInvalidationBus.getSharedGeneration(CacheRegion.CATEGORY);
+        if (generation.isPresent()
+                && HttpCaching.notModified(webRequest, HttpCaching.etag("category", id, generation.getAsLong()), -1)) {
+            return null;
+        }
+        
         Optional<Category> category = categoryRepository.findById(id);
         return category.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
@@ -64,6 +82,7 @@ public class CategoryController {
             }
             
             Category savedCategory = categoryRepository.save(category);
+            cacheInvalidationBus.publish(CacheRegion.CATEGORY, savedCategory.getId());
             return ResponseEntity.ok(savedCategory);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
@@ -93,6 +112,7 @@ public class CategoryController {
             category.setIsActive(categoryDetails.getIsActive());
             
             Category updatedCategory = categoryRepository.save(category);
+            cacheInvalidationBus.publish(CacheRegion.CATEGORY, updatedCategory.getId());
             return ResponseEntity.ok(updatedCategory);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
@@ -112,6 +132,7 @@ public class CategoryController {
             // Instead of deleting, mark as inactive if there are associated content
             category.setIsActive(false);
             categoryRepository.save(category);
+            cacheInvalidationBus.publish(CacheRegion.CATEGORY, id);
             
             return ResponseEntity.ok(new MessageResponse("Category deactivated successfully!"));
         } catch (Exception e) {
@@ -1,20 +1,35 @@
 package com.puthelp.controller;
 
+import com.puthelp.cache.HotPageCache;
 import com.puthelp.dto.content.ContentDto;
+import com.puthelp.dto.content.ContentFilter;
+import com.puthelp.dto.content.FacetResponse;
+import com.puthelp.dto.content.TagCountDto;
+import com.puthelp.dto.content.ContentSummaryDto;
+import com.puthelp.dto.content.ContentVersion;
+import com.puthelp.dto.response.CursorPage;
 import com.puthelp.dto.response.MessageResponse;
+import com.puthelp.entity.Content;
+import com.puthelp.search.SuggestionIndex;
 import com.puthelp.security.UserPrincipal;
 import com.puthelp.service.ContentService;
+import com.puthelp.service.TrendingService;
+import com.puthelp.util.HttpCaching;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.util.List;
 import java.util.Optional;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -25,76 +40,259 @@ public class ContentController {
     @Autowired
     private ContentService contentService;
     
+    @Autowired
+    private SuggestionIndex suggestionIndex;
+    
+    @Autowired
+    private TrendingService trendingService;
+    
+    @Autowired
+    private HotPageCache hotPageCache;
+    
     // Public endpoints
     @GetMapping("/public")
-    public ResponseEntity<Page<ContentDto>> getPublishedContent(
+    public ResponseEntity<?> getPublishedContent(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "false") boolean cursor,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean slice,
+            @RequestParam(required = false) Content.ContentType type,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        
+        if (type != null) {
+            ContentFilter filter = new ContentFilter();
+            filter.setType(type);
+            return queryContent(filter, page, size, sortBy, sortDir, cursor, after, slice);
+        }
+        
+        if (cursor || after != null) {
+            try {
+                CursorPage<ContentSummaryDto> content = contentService.getPublishedContentAfter(sortBy, sortDir, after, size);
+                return ResponseEntity.ok(content);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+            }
+        }
         
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
         
-        Page<ContentDto> content = contentService.getPublishedContent(pageable);
+        if (slice) {
+            return ResponseEntity.ok(contentService.getPublishedContentSlice(pageable));
+        }
+        
+        // First pages of the home page and the list are served as pre-serialized, pre-compressed bytes
+        if (page == 0 && hotPageCache.isHotSize(size) && sortBy.equals("createdAt") && sortDir.equalsIgnoreCase("desc")) {
+            return hotPageCache.respond("published:" + size,
+                    () -> contentService.getPublishedContent(pageable), acceptEncoding);
+        }
+        Page<ContentSummaryDto> content = contentService.getPublishedContent(pageable);
         return ResponseEntity.ok(content);
     }
     
+    @GetMapping("/public/query")
+    public ResponseEntity<?> queryContent(
+            ContentFilter filter,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "false") boolean cursor,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean slice) {
+        
+        try {
+            if (cursor || after != null) {
+                return ResponseEntity.ok(contentService.queryContentAfter(filter, sortBy, sortDir, after, size));
+            }
+            
+            Sort sort = sortDir.equalsIgnoreCase("desc") ? 
+                    Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+            Pageable pageable = PageRequest.of(page, size, sort);
+            
+            if (slice) {
+                return ResponseEntity.ok(contentService.queryContentSlice(filter, pageable));
+            }
+            return ResponseEntity.ok(contentService.queryContent(filter, pageable));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+    
     @GetMapping("/public/{id}")
-    public ResponseEntity<ContentDto> getPublishedContentById(@PathVariable Long id) {
-        Optional<ContentDto> content = contentService.getPublishedContentById(id);
-        if (content.isPresent()) {
-            // Increment view count
-            ContentDto updatedContent = contentService.incrementViewCount(id);
-            return ResponseEntity.ok(updatedContent);
+    public ResponseEntity<ContentDto> getPublishedContentById(@PathVariable Long id,
+                                                              HttpServletRequest request,
+                                                              Authentication authentication,
+                                                              ServletWebRequest webRequest) {
+        Optional<ContentVersion> version = contentService.getPublishedContentVersion(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        // The tag covers the embedded category and kierunek names, which updatedAt does not, so the
+        // response carries no Last-Modified and If-Modified-Since alone never yields a 304
+        if (HttpCaching.notModified(webRequest, version.get().etag(id), -1)) {
+            return null;
         }
-        return ResponseEntity.notFound().build();
+        
+        // Only a served body counts as a view; revalidations are not reads. Counts are flushed in batches
+        contentService.recordView(id, getVisitor(request, authentication));
+        
+        Optional<ContentDto> content = contentService.getPublishedContentById(id);
+        return content.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
     
     @GetMapping("/public/kierunek/{kierunekId}")
-    public ResponseEntity<Page<ContentDto>> getContentByKierunek(
+    public ResponseEntity<?> getContentByKierunek(
             @PathVariable Long kierunekId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "false") boolean cursor,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean slice) {
+        
+        if (cursor || after != null) {
+            try {
+                CursorPage<ContentSummaryDto> content = contentService.getContentByKierunekAfter(
+                        kierunekId, sortBy, sortDir, after, size);
+                return ResponseEntity.ok(content);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+            }
+        }
         
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
         
-        Page<ContentDto> content = contentService.getContentByKierunek(kierunekId, pageable);
+        if (slice) {
+            return ResponseEntity.ok(contentService.getContentByKierunekSlice(kierunekId, pageable));
+        }
+        Page<ContentSummaryDto> content = contentService.getContentByKierunek(kierunekId, pageable);
         return ResponseEntity.ok(content);
     }
     
     @GetMapping("/public/category/{categoryId}")
-    public ResponseEntity<Page<ContentDto>> getContentByCategory(
+    public ResponseEntity<?> getContentByCategory(
             @PathVariable Long categoryId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "false") boolean cursor,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean slice) {
+        
+        if (cursor || after != null) {
+            try {
+                CursorPage<ContentSummaryDto> content = contentService.getContentByCategoryAfter(
+                        categoryId, sortBy, sortDir, after, size);
+                return ResponseEntity.ok(content);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+            }
+        }
         
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
         
-        Page<ContentDto> content = contentService.getContentByCategory(categoryId, pageable);
+        if (slice) {
+            return ResponseEntity.ok(contentService.getContentByCategorySlice(categoryId, pageable));
+        }
+        Page<ContentSummaryDto> content = contentService.getContentByCategory(categoryId, pageable);
         return ResponseEntity.ok(content);
     }
     
+    @GetMapping("/public/tag/{tag}")
+    public ResponseEntity<?> getContentByTag(
+            @PathVariable String tag,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "false") boolean cursor,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean slice) {
+        
+        try {
+            if (cursor || after != null) {
+                CursorPage<ContentSummaryDto> content = contentService.getContentByTagAfter(
+                        tag, sortBy, sortDir, after, size);
+                return ResponseEntity.ok(content);
+            }
+            
+            Sort sort = sortDir.equalsIgnoreCase("desc") ? 
+                    Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+            Pageable pageable = PageRequest.of(page, size, sort);
+            
+            if (slice) {
+                return ResponseEntity.ok(contentService.getContentByTagSlice(tag, pageable));
+            }
+            Page<ContentSummaryDto> content = contentService.getContentByTag(tag, pageable);
+            return ResponseEntity.ok(content);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/public/tags")
+    public ResponseEntity<List<TagCountDto>> getTagCloud(@RequestParam(defaultValue = "50") int limit) {
+        // Precomputed counts over published content, most used first
+        return ResponseEntity.ok(contentService.getTagCloud(limit));
+    }
+    
     @GetMapping("/public/search")
-    public ResponseEntity<Page<ContentDto>> searchContent(
+    public ResponseEntity<Page<ContentSummaryDto>> searchContent(
             @RequestParam String q,
+            @RequestParam(defaultValue = "false") boolean fuzzy,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<ContentDto> content = contentService.searchContent(q, pageable);
+        // Results are ordered by relevance, or by similarity in fuzzy mode
+        Pageable pageable = PageRequest.of(page, size);
+        Page<ContentSummaryDto> content = contentService.searchContent(q, fuzzy, pageable);
         return ResponseEntity.ok(content);
     }
     
+    @GetMapping("/public/facets")
+    public ResponseEntity<FacetResponse> getFacets(
+            @RequestParam(required = false) Content.ContentType type,
+            @RequestParam(required = false) Long kierunekId,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) String tag,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        
+        // Results are newest first, with counts per type, kierunek, category and tag
+        FacetResponse facets = contentService.getFacets(type, kierunekId, categoryId, tag, PageRequest.of(page, size));
+        return ResponseEntity.ok(facets);
+    }
+    
+    @GetMapping("/public/trending")
+    public ResponseEntity<Page<ContentSummaryDto>> getTrendingContent(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        
+        // Served from a precomputed snapshot, ranked by time-decayed views
+        return ResponseEntity.ok(trendingService.getTrending(PageRequest.of(page, size)));
+    }
+    
+    @GetMapping("/public/suggest")
+    public ResponseEntity<List<String>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        
+        int boundedLimit = Math.max(1, Math.min(limit, SuggestionIndex.MAX_SUGGESTIONS));
+        return ResponseEntity.ok(suggestionIndex.suggest(prefix, boundedLimit));
+    }
+    
     // Protected endpoints (require authentication)
     @PostMapping
     @PreAuthorize("hasRole('MODERATOR') or hasRole('ADMIN')")
@@ -149,19 +347,35 @@ public class ContentController {
     
     @GetMapping("/my")
     @PreAuthorize("hasRole('MODERATOR') or hasRole('ADMIN')")
-    public ResponseEntity<Page<ContentDto>> getMyContent(
+    public ResponseEntity<?> getMyContent(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "false") boolean cursor,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean slice,
             Authentication authentication) {
         
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        if (cursor || after != null) {
+            try {
+                CursorPage<ContentSummaryDto> content = contentService.getMyContentAfter(
+                        userPrincipal.getUsername(), sortBy, sortDir, after, size);
+                return ResponseEntity.ok(content);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+            }
+        }
+        
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
         
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        Page<ContentDto> content = contentService.getMyContent(userPrincipal.getUsername(), pageable);
+        if (slice) {
+            return ResponseEntity.ok(contentService.getMyContentSlice(userPrincipal.getUsername(), pageable));
+        }
+        Page<ContentSummaryDto> content = contentService.getMyContent(userPrincipal.getUsername(), pageable);
         return ResponseEntity.ok(content);
     }
     
@@ -171,4 +385,13 @@ public class ContentController {
         Optional<ContentDto> content = contentService.getContentById(id);
         return content.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
+    
+    private String getVisitor(HttpServletRequest request, Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal) {
+            return "user:" + ((UserPrincipal) authentication.getPrincipal()).getId();
+        }
+        
+        // Tomcat resolves X-Forwarded-For from trusted proxies only (server.tomcat.remoteip)
+        return "ip:" + request.getRemoteAddr() + "|" + request.getHeader("User-Agent");
+    }
 }
@@ -1,8 +1,12 @@
 package com.puthelp.controller;
 
+import com.puthelp.cache.CacheInvalidationBus;
+import com.puthelp.cache.CacheRegion;
+import com.puthelp.cache.ReferenceListCache;
 import com.puthelp.dto.response.MessageResponse;
 import com.puthelp.entity.Kierunek;
 import com.puthelp.repository.KierunekRepository;
+import com.puthelp.util.HttpCaching;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -12,9 +16,10 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
-import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -24,15 +29,28 @@ public class KierunekController {
     @Autowired
     private KierunekRepository kierunekRepository;
     
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+    
+    @Autowired
+    private ReferenceListCache referenceListCache;
+    
     // Public endpoints
     @GetMapping("/public")
-    public ResponseEntity<List<Kierunek>> getAllActiveKieruneks() {
-        List<Kierunek> kieruneks = kierunekRepository.findByIsActiveTrue();
-        return ResponseEntity.ok(kieruneks);
+    public ResponseEntity<byte[]> getAllActiveKieruneks(ServletWebRequest webRequest) {
+        // Pre-serialized snapshot, rebuilt only after a write to this list
+        return referenceListCache.respond(CacheRegion.KIERUNEK, kierunekRepository::findByIsActiveTrue, webRequest);
     }
     
     @GetMapping("/public/{id}")
-    public ResponseEntity<Kierunek> getKierunekById(@PathVariable Long id) {
+    public ResponseEntity<Kierunek> getKierunekById(@PathVariable Long id, ServletWebRequest webRequest) {
+        // The shared generation gives every node the same tag; without it the request is served in full
+        OptionalLong generation = cacheInvalidationBus.getSharedGeneration(CacheRegion.KIERUNEK);
+        if (generation.isPresent()
+                && HttpCaching.notModified(webRequest, HttpCaching.etag("kierunek", id, generation.getAsLong()), -1)) {
+            return null;
+        }
+        
         Optional<Kierunek> kierunek = kierunekRepository.findById(id);
         return kierunek.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
@@ -69,6 +87,7 @@ public class KierunekController {
             }
             
             Kierunek savedKierunek = kierunekRepository.save(kierunek);
+            cacheInvalidationBus.publish(CacheRegion.KIERUNEK, savedKierunek.getId());
             return ResponseEntity.ok(savedKierunek);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
@@ -106,6 +125,7 @@ public class KierunekController {
             kierunek.setIsActive(kierunekDetails.getIsActive());
             
             Kierunek updatedKierunek = kierunekRepository.save(kierunek);
+            cacheInvalidationBus.publish(CacheRegion.KIERUNEK, updatedKierunek.getId());
             return ResponseEntity.ok(updatedKierunek);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
@@ -125,6 +145,7 @@ public class KierunekController {
             // Instead of deleting, mark as inactive if there are associated users/content
             kierunek.setIsActive(false);
             kierunekRepository.save(kierunek);
+            cacheInvalidationBus.publish(CacheRegion.KIERUNEK, id);
             
             return ResponseEntity.ok(new MessageResponse("Kierunek deactivated successfully!"));
         } catch (Exception e) {
@@ -30,6 +30,7 @@ public class ContentDto {
     private String categoryName;
     private String tags;
     private Long viewCount;
+    private Long uniqueViews;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private LocalDateTime publishedAt;
@@ -149,6 +150,14 @@ public class ContentDto {
         this.viewCount = viewCount;
     }
     
+    public Long getUniqueViews() {
+        return uniqueViews;
+    }
+    
+    public void setUniqueViews(Long uniqueViews) {
+        this.uniqueViews = uniqueViews;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
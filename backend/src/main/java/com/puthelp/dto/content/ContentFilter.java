@@ -0,0 +1,90 @@
+package com.puthelp.dto.content;
+
+import com.puthelp.entity.Content;
+import com.puthelp.entity.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Optional filters for published content listings, bound from query parameters.
+ * Date bounds are inclusive and apply to the publication date.
+ */
+public class ContentFilter {
+    
+    private Content.ContentType type;
+    
+    private Long kierunekId;
+    
+    private Long categoryId;
+    
+    private String tag;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+    
+    public ContentFilter() {}
+    
+    /**
+     * Stable key identifying this combination of filters, e.g. for count caching.
+     */
+    public String toKey() {
+        return "query:" + type + "|" + kierunekId + "|" + categoryId + "|" + normalizedTag() + "|" + from + "|" + to;
+    }
+    
+    public String normalizedTag() {
+        return Tag.normalize(tag);
+    }
+    
+    // Getters and Setters
+    public Content.ContentType getType() {
+        return type;
+    }
+    
+    public void setType(Content.ContentType type) {
+        this.type = type;
+    }
+    
+    public Long getKierunekId() {
+        return kierunekId;
+    }
+    
+    public void setKierunekId(Long kierunekId) {
+        this.kierunekId = kierunekId;
+    }
+    
+    public Long getCategoryId() {
+        return categoryId;
+    }
+    
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+    
+    public String getTag() {
+        return tag;
+    }
+    
+    public void setTag(String tag) {
+        this.tag = tag;
+    }
+    
+    public LocalDate getFrom() {
+        return from;
+    }
+    
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+    
+    public LocalDate getTo() {
+        return to;
+    }
+    
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+}
@@ -0,0 +1,29 @@
+package com.puthelp.dto.content;
+
+import com.puthelp.entity.Content;
+
+import java.time.LocalDateTime;
+
+/**
+ * List view of a content item, selected column by column so the body is never loaded.
+ * {@code excerpt} holds the stored start of the body only when no summary was written.
+ */
+public record ContentSummaryDto(
+        Long id,
+        String title,
+        String summary,
+        String excerpt,
+        Content.ContentType type,
+        Content.ContentStatus status,
+        String tags,
+        Long viewCount,
+        Long authorId,
+        String authorUsername,
+        Long kierunekId,
+        String kierunekName,
+        Long categoryId,
+        String categoryName,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        LocalDateTime publishedAt) {
+}
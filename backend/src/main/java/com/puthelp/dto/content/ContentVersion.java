@@ -0,0 +1,21 @@
+package com.puthelp.dto.content;
+
+import com.puthelp.util.HttpCaching;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Everything in a published content's detail body that can change: its own modification time
+ * and the kierunek and category names it embeds. Used to validate conditional GETs.
+ * The tag is weak because the body also carries viewCount and uniqueViews, which change
+ * on every read without touching updatedAt.
+ */
+public record ContentVersion(LocalDateTime updatedAt, String kierunekName, String categoryName) {
+    
+    public String etag(Long id) {
+        String names = kierunekName + "|" + categoryName;
+        return HttpCaching.weakEtag("content", id, updatedAt != null ? HttpCaching.toEpochMillis(updatedAt) : 0,
+                HttpCaching.hash(names.getBytes(StandardCharsets.UTF_8)));
+    }
+}
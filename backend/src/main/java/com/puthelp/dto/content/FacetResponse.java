@@ -0,0 +1,37 @@
+package com.puthelp.dto.content;
+
+import com.puthelp.search.FacetValue;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.Map;
+
+public class FacetResponse {
+    
+    private Page<ContentSummaryDto> results;
+    private Map<String, List<FacetValue>> facets;
+    
+    public FacetResponse() {}
+    
+    public FacetResponse(Page<ContentSummaryDto> results, Map<String, List<FacetValue>> facets) {
+        this.results = results;
+        this.facets = facets;
+    }
+    
+    // Getters and Setters
+    public Page<ContentSummaryDto> getResults() {
+        return results;
+    }
+    
+    public void setResults(Page<ContentSummaryDto> results) {
+        this.results = results;
+    }
+    
+    public Map<String, List<FacetValue>> getFacets() {
+        return facets;
+    }
+    
+    public void setFacets(Map<String, List<FacetValue>> facets) {
+        this.facets = facets;
+    }
+}
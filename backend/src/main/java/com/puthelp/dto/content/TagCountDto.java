@@ -0,0 +1,7 @@
+package com.puthelp.dto.content;
+
+/**
+ * Tag cloud entry: a tag and the number of published contents carrying it.
+ */
+public record TagCountDto(String name, long count) {
+}
@@ -0,0 +1,46 @@
+package com.puthelp.dto.response;
+
+import java.util.List;
+
+public class CursorPage<T> {
+    
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+    
+    public CursorPage() {}
+    
+    public CursorPage(List<T> content, int size, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.nextCursor = nextCursor;
+    }
+    
+    public List<T> getContent() {
+        return content;
+    }
+    
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+    
+    public int getSize() {
+        return size;
+    }
+    
+    public void setSize(int size) {
+        this.size = size;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,128 @@
+package com.puthelp.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public class SystemStatsResponse {
+    
+    private long totalUsers;
+    private long activeUsers;
+    private Map<String, Long> usersByRole;
+    private long totalContent;
+    private long publishedContent;
+    private long draftContent;
+    private Map<String, Long> contentByStatus;
+    private Map<String, Long> contentByType;
+    private long totalCategories;
+    private long activeCategories;
+    private long totalKieruneks;
+    private long activeKieruneks;
+    private LocalDateTime reconciledAt;
+    
+    public SystemStatsResponse() {}
+    
+    // Getters and Setters
+    public long getTotalUsers() {
+        return totalUsers;
+    }
+    
+    public void setTotalUsers(long totalUsers) {
+        this.totalUsers = totalUsers;
+    }
+    
+    public long getActiveUsers() {
+        return activeUsers;
+    }
+    
+    public void setActiveUsers(long activeUsers) {
+        this.activeUsers = activeUsers;
+    }
+    
+    public Map<String, Long> getUsersByRole() {
+        return usersByRole;
+    }
+    
+    public void setUsersByRole(Map<String, Long> usersByRole) {
+        this.usersByRole = usersByRole;
+    }
+    
+    public long getTotalContent() {
+        return totalContent;
+    }
+    
+    public void setTotalContent(long totalContent) {
+        this.totalContent = totalContent;
+    }
+    
+    public long getPublishedContent() {
+        return publishedContent;
+    }
+    
+    public void setPublishedContent(long publishedContent) {
+        this.publishedContent = publishedContent;
+    }
+    
+    public long getDraftContent() {
+        return draftContent;
+    }
+    
+    public void setDraftContent(long draftContent) {
+        this.draftContent = draftContent;
+    }
+    
+    public Map<String, Long> getContentByStatus() {
+        return contentByStatus;
+    }
+    
+    public void setContentByStatus(Map<String, Long> contentByStatus) {
+        this.contentByStatus = contentByStatus;
+    }
+    
+    public Map<String, Long> getContentByType() {
+        return contentByType;
+    }
+    
+    public void setContentByType(Map<String, Long> contentByType) {
+        this.contentByType = contentByType;
+    }
+    
+    public long getTotalCategories() {
+        return totalCategories;
+    }
+    
+    public void setTotalCategories(long totalCategories) {
+        this.totalCategories = totalCategories;
+    }
+    
+    public long getActiveCategories() {
+        return activeCategories;
+    }
+    
+    public void setActiveCategories(long activeCategories) {
+        this.activeCategories = activeCategories;
+    }
+    
+    public long getTotalKieruneks() {
+        return totalKieruneks;
+    }
+    
+    public void setTotalKieruneks(long totalKieruneks) {
+        this.totalKieruneks = totalKieruneks;
+    }
+    
+    public long getActiveKieruneks() {
+        return activeKieruneks;
+    }
+    
+    public void setActiveKieruneks(long activeKieruneks) {
+        this.activeKieruneks = activeKieruneks;
+    }
+    
+    public LocalDateTime getReconciledAt() {
+        return reconciledAt;
+    }
+    
+    public void setReconciledAt(LocalDateTime reconciledAt) {
+        this.reconciledAt = reconciledAt;
+    }
+}
@@ -11,13 +11,22 @@ import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
 
 @Entity
 @Table(name = "contents")
+@NamedEntityGraph(name = "Content.detail", attributeNodes = {
+        @NamedAttributeNode("author"),
+        @NamedAttributeNode("kierunek"),
+        @NamedAttributeNode("category")
+})
 @EntityListeners(AuditingEntityListener.class)
 @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
 public class Content {
     
+    public static final int EXCERPT_LENGTH = 300;
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -39,22 +48,38 @@ public class Content {
     @Enumerated(EnumType.STRING)
     private ContentStatus status = ContentStatus.DRAFT;
     
-    @ManyToOne
+    // Associations are lazy; queries that need them say so with the Content.detail graph
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
     private User author;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "kierunek_id")
     private Kierunek kierunek;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     private Category category;
     
-    @Size(max = 500)
-    private String tags; // Comma-separated tags
+    // Start of the body for list previews, derived in setBody so lists never read the body itself
+    @Size(max = EXCERPT_LENGTH)
+    @Column(length = EXCERPT_LENGTH)
+    private String excerpt;
     
-    @Column(name = "view_count")
+    // Tags as entered, comma-separated; kept for display and full-text search
+    @Size(max = 500)
+    private String tags;
+    
+    // Normalized tags, derived from tags on every write; tag queries go through this join table
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(name = "content_tags",
+               joinColumns = @JoinColumn(name = "content_id"),
+               inverseJoinColumns = @JoinColumn(name = "tag_id"))
+    @JsonIgnore
+    private Set<Tag> tagSet = new HashSet<>();
+    
+    // Maintained by ViewCountService; entity saves must not overwrite flushed counts
+    @Column(name = "view_count", updatable = false)
     private Long viewCount = 0L;
     
     @CreatedDate
@@ -73,7 +98,7 @@ public class Content {
     
     public Content(String title, String body, ContentType type, User author) {
         this.title = title;
-        this.body = body;
+        setBody(body);
         this.type = type;
         this.author = author;
     }
@@ -101,6 +126,11 @@ public class Content {
     
     public void setBody(String body) {
         this.body = body;
+        this.excerpt = body != null && body.length() > EXCERPT_LENGTH ? body.substring(0, EXCERPT_LENGTH) : body;
+    }
+    
+    public String getExcerpt() {
+        return excerpt;
     }
     
     public String getSummary() {
@@ -159,6 +189,14 @@ public class Content {
         this.tags = tags;
     }
     
+    public Set<Tag> getTagSet() {
+        return tagSet;
+    }
+    
+    public void setTagSet(Set<Tag> tagSet) {
+        this.tagSet = tagSet;
+    }
+    
     public Long getViewCount() {
         return viewCount;
     }
@@ -0,0 +1,74 @@
+package com.puthelp.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+@Entity
+@Table(name = "tags")
+public class Tag {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    // Stored normalized, see normalize; one tag may take up the whole Content.tags column
+    @NotBlank
+    @Size(max = 500)
+    @Column(unique = true)
+    private String name;
+    
+    // Constructors
+    public Tag() {}
+    
+    public Tag(String name) {
+        this.name = name;
+    }
+    
+    /**
+     * Canonical form of a tag name: trimmed and lower-cased.
+     * @return the normalized name, or null for a blank tag
+     */
+    public static String normalize(String tag) {
+        if (tag == null || tag.isBlank()) {
+            return null;
+        }
+        return tag.trim().toLowerCase();
+    }
+    
+    /**
+     * Splits a comma-separated tag list into distinct normalized names, keeping their order.
+     */
+    public static Set<String> parse(String tags) {
+        Set<String> names = new LinkedHashSet<>();
+        if (tags != null) {
+            for (String tag : tags.split(",")) {
+                String name = normalize(tag);
+                if (name != null) {
+                    names.add(name);
+                }
+            }
+        }
+        return names;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+}
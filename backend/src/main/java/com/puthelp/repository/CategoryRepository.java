@@ -16,6 +16,8 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     
     Boolean existsByName(String name);
     
+    long countByIsActiveTrue();
+    
     List<Category> findByIsActiveTrue();
     
     Page<Category> findByIsActiveTrue(Pageable pageable);
@@ -0,0 +1,36 @@
+package com.puthelp.repository;
+
+import com.puthelp.dto.content.ContentSummaryDto;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position after the last row of a keyset page: the sort key, its direction, and the
+ * (sort value, id) pair of that row. Clients see it only as an opaque token.
+ */
+public record ContentCursor(ContentSortKey sortKey, Sort.Direction direction, Comparable<?> value, Long id) {
+    
+    public static ContentCursor after(ContentSummaryDto content, ContentSortKey sortKey, Sort.Direction direction) {
+        return new ContentCursor(sortKey, direction, sortKey.valueOf(content), content.id());
+    }
+    
+    public static ContentCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // The value goes last because titles may contain the separator
+            String[] parts = decoded.split("\\|", 4);
+            ContentSortKey sortKey = ContentSortKey.valueOf(parts[0]);
+            return new ContentCursor(sortKey, Sort.Direction.valueOf(parts[1]), sortKey.parse(parts[3]),
+                    Long.valueOf(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+    
+    public String encode() {
+        String raw = sortKey.name() + "|" + direction.name() + "|" + id + "|" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,42 +1,79 @@
 package com.puthelp.repository;
 
+import com.puthelp.dto.content.ContentVersion;
 import com.puthelp.entity.Content;
+import com.puthelp.search.FacetSource;
+import com.puthelp.search.SuggestionSource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ContentRepository extends JpaRepository<Content, Long> {
+public interface ContentRepository extends JpaRepository<Content, Long>, JpaSpecificationExecutor<Content>,
+        ContentRepositoryCustom {
     
-    Page<Content> findByStatus(Content.ContentStatus status, Pageable pageable);
+    // Keyset batches for search indexing, which reads only the content's own columns
+    List<Content> findByStatusAndIdGreaterThanOrderByIdAsc(Content.ContentStatus status, Long id, Pageable pageable);
     
-    Page<Content> findByType(Content.ContentType type, Pageable pageable);
-    
-    Page<Content> findByAuthorId(Long authorId, Pageable pageable);
+    @EntityGraph("Content.detail")
+    Optional<Content> findDetailById(Long id);
     
+    @EntityGraph("Content.detail")
     Optional<Content> findByIdAndStatus(Long id, Content.ContentStatus status);
     
-    @Query("SELECT c FROM Content c WHERE c.kierunek.id = :kierunekId AND c.status = 'PUBLISHED'")
-    Page<Content> findByKierunekIdAndPublished(@Param("kierunekId") Long kierunekId, Pageable pageable);
+    // Version check for conditional GETs; reads three columns instead of the row
+    @Query("SELECT new com.puthelp.dto.content.ContentVersion(c.updatedAt, k.name, cat.name) " +
+           "FROM Content c LEFT JOIN c.kierunek k LEFT JOIN c.category cat " +
+           "WHERE c.id = :id AND c.status = 'PUBLISHED'")
+    Optional<ContentVersion> findPublishedVersion(@Param("id") Long id);
+    
+    // Full-text search over the weighted search_vector column (GIN-indexed), best matches first
+    @Query(value = "SELECT c.id FROM contents c " +
+                   "WHERE c.status = 'PUBLISHED' AND c.search_vector @@ to_tsquery('simple', :query) " +
+                   "ORDER BY ts_rank(c.search_vector, to_tsquery('simple', :query)) DESC, c.id DESC",
+           countQuery = "SELECT count(*) FROM contents c " +
+                        "WHERE c.status = 'PUBLISHED' AND c.search_vector @@ to_tsquery('simple', :query)",
+           nativeQuery = true)
+    Page<Long> searchPublishedContentIds(@Param("query") String query, Pageable pageable);
+    
+    // Trigram word similarity on title and tags, backed by the gin_trgm_ops indexes
+    @Query(value = "SELECT c.id FROM contents c " +
+                   "WHERE c.status = 'PUBLISHED' AND (:query <% c.title OR :query <% c.tags) " +
+                   "ORDER BY GREATEST(word_similarity(:query, c.title), " +
+                   "word_similarity(:query, coalesce(c.tags, ''))) DESC, c.id DESC",
+           countQuery = "SELECT count(*) FROM contents c " +
+                        "WHERE c.status = 'PUBLISHED' AND (:query <% c.title OR :query <% c.tags)",
+           nativeQuery = true)
+    Page<Long> fuzzySearchPublishedContentIds(@Param("query") String query, Pageable pageable);
+    
+    @Query(value = "SELECT set_config('pg_trgm.word_similarity_threshold', :threshold, true)", nativeQuery = true)
+    String setWordSimilarityThreshold(@Param("threshold") String threshold);
+    
+    @Query("SELECT new com.puthelp.search.SuggestionSource(c.id, c.title, c.tags, c.viewCount) " +
+           "FROM Content c WHERE c.status = 'PUBLISHED'")
+    List<SuggestionSource> findPublishedSuggestionSources();
     
-    @Query("SELECT c FROM Content c WHERE c.category.id = :categoryId AND c.status = 'PUBLISHED'")
-    Page<Content> findByCategoryIdAndPublished(@Param("categoryId") Long categoryId, Pageable pageable);
+    @Query("SELECT new com.puthelp.search.SuggestionSource(c.id, c.title, c.tags, c.viewCount) " +
+           "FROM Content c WHERE c.id = :id AND c.status = 'PUBLISHED'")
+    Optional<SuggestionSource> findPublishedSuggestionSource(@Param("id") Long id);
     
-    @Query("SELECT c FROM Content c WHERE " +
-           "(LOWER(c.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-           "LOWER(c.body) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-           "LOWER(c.tags) LIKE LOWER(CONCAT('%', :query, '%'))) AND " +
-           "c.status = 'PUBLISHED'")
-    Page<Content> searchPublishedContent(@Param("query") String query, Pageable pageable);
+    @Query("SELECT new com.puthelp.search.FacetSource(c.id, c.type, k.id, k.name, cat.id, cat.name, c.tags) " +
+           "FROM Content c LEFT JOIN c.kierunek k LEFT JOIN c.category cat WHERE c.status = 'PUBLISHED'")
+    List<FacetSource> findPublishedFacetSources();
     
-    @Query("SELECT c FROM Content c WHERE c.status = 'PUBLISHED' ORDER BY c.viewCount DESC")
-    Page<Content> findMostPopular(Pageable pageable);
+    @Query("SELECT new com.puthelp.search.FacetSource(c.id, c.type, k.id, k.name, cat.id, cat.name, c.tags) " +
+           "FROM Content c LEFT JOIN c.kierunek k LEFT JOIN c.category cat " +
+           "WHERE c.id = :id AND c.status = 'PUBLISHED'")
+    Optional<FacetSource> findPublishedFacetSource(@Param("id") Long id);
     
-    @Query("SELECT c FROM Content c WHERE c.status = 'PUBLISHED' ORDER BY c.createdAt DESC")
-    Page<Content> findLatest(Pageable pageable);
+    @Query("SELECT c.status, c.type, count(c) FROM Content c GROUP BY c.status, c.type")
+    List<Object[]> countGroupedByStatusAndType();
 }
@@ -0,0 +1,29 @@
+package com.puthelp.repository;
+
+import com.puthelp.dto.content.ContentSummaryDto;
+import com.puthelp.entity.Content;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ContentRepositoryCustom {
+    
+    /**
+     * Fetches a window of list rows without issuing a count query.
+     * @param specification the filter
+     * @param sort the ordering
+     * @param offset rows to skip
+     * @param limit maximum rows to return
+     * @return the matching rows as summaries
+     */
+    List<ContentSummaryDto> findSummaryWindow(Specification<Content> specification, Sort sort, long offset, int limit);
+    
+    /**
+     * Fetches list rows by id, in no particular order.
+     * @param ids the content ids
+     * @return the matching rows as summaries
+     */
+    List<ContentSummaryDto> findSummariesByIds(Collection<Long> ids);
+}
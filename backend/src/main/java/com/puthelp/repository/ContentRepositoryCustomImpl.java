@@ -0,0 +1,94 @@
+package com.puthelp.repository;
+
+import com.puthelp.dto.content.ContentSummaryDto;
+import com.puthelp.entity.Category;
+import com.puthelp.entity.Content;
+import com.puthelp.entity.Kierunek;
+import com.puthelp.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.Collection;
+import java.util.List;
+
+public class ContentRepositoryCustomImpl implements ContentRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<ContentSummaryDto> findSummaryWindow(Specification<Content> specification, Sort sort,
+                                                     long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ContentSummaryDto> query = cb.createQuery(ContentSummaryDto.class);
+        Root<Content> root = query.from(Content.class);
+        query.select(summarySelection(root, cb));
+        
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        
+        return entityManager.createQuery(query)
+                .setFirstResult((int) offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+    
+    @Override
+    public List<ContentSummaryDto> findSummariesByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ContentSummaryDto> query = cb.createQuery(ContentSummaryDto.class);
+        Root<Content> root = query.from(Content.class);
+        query.select(summarySelection(root, cb)).where(root.get("id").in(ids));
+        
+        return entityManager.createQuery(query).getResultList();
+    }
+    
+    // One row per content item: list columns plus the names of its author, kierunek and category
+    private CompoundSelection<ContentSummaryDto> summarySelection(Root<Content> root, CriteriaBuilder cb) {
+        Join<Content, User> author = root.join("author", JoinType.LEFT);
+        Join<Content, Kierunek> kierunek = root.join("kierunek", JoinType.LEFT);
+        Join<Content, Category> category = root.join("category", JoinType.LEFT);
+        
+        // Lists fall back to the stored excerpt for a preview when there is no summary; reading
+        // the body here would detoast the full TEXT of every row
+        CriteriaBuilder.Case<String> excerpt = cb.<String>selectCase()
+                .when(cb.or(cb.isNull(root.get("summary")), cb.equal(root.get("summary"), "")),
+                        root.<String>get("excerpt"));
+        
+        return cb.construct(ContentSummaryDto.class,
+                root.get("id"),
+                root.get("title"),
+                root.get("summary"),
+                excerpt.otherwise(cb.nullLiteral(String.class)),
+                root.get("type"),
+                root.get("status"),
+                root.get("tags"),
+                root.get("viewCount"),
+                author.get("id"),
+                author.get("username"),
+                kierunek.get("id"),
+                kierunek.get("name"),
+                category.get("id"),
+                category.get("name"),
+                root.get("createdAt"),
+                root.get("updatedAt"),
+                root.get("publishedAt"));
+    }
+}
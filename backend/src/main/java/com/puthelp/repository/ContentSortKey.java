@@ -0,0 +1,48 @@
+package com.puthelp.repository;
+
+import com.puthelp.dto.content.ContentSummaryDto;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * Sort keys allowed for keyset pagination. Each one is backed by an index on (key, id).
+ */
+public enum ContentSortKey {
+    CREATED_AT("createdAt", ContentSummaryDto::createdAt, LocalDateTime::parse),
+    PUBLISHED_AT("publishedAt", ContentSummaryDto::publishedAt, LocalDateTime::parse),
+    VIEW_COUNT("viewCount", ContentSummaryDto::viewCount, Long::valueOf),
+    TITLE("title", ContentSummaryDto::title, value -> value);
+    
+    private final String property;
+    private final Function<ContentSummaryDto, Comparable<?>> extractor;
+    private final Function<String, Comparable<?>> parser;
+    
+    ContentSortKey(String property, Function<ContentSummaryDto, Comparable<?>> extractor,
+                   Function<String, Comparable<?>> parser) {
+        this.property = property;
+        this.extractor = extractor;
+        this.parser = parser;
+    }
+    
+    public static ContentSortKey fromProperty(String property) {
+        for (ContentSortKey key : values()) {
+            if (key.property.equals(property)) {
+                return key;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort key for cursor pagination: " + property);
+    }
+    
+    public String getProperty() {
+        return property;
+    }
+    
+    public Comparable<?> valueOf(ContentSummaryDto content) {
+        return extractor.apply(content);
+    }
+    
+    public Comparable<?> parse(String value) {
+        return parser.apply(value);
+    }
+}
@@ -0,0 +1,111 @@
+package com.puthelp.repository;
+
+import com.puthelp.dto.content.ContentFilter;
+import com.puthelp.entity.Content;
+import com.puthelp.entity.Tag;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public final class ContentSpecifications {
+    
+    private ContentSpecifications() {}
+    
+    public static Specification<Content> published() {
+        return (root, query, cb) -> cb.equal(root.get("status"), Content.ContentStatus.PUBLISHED);
+    }
+    
+    public static Specification<Content> hasKierunek(Long kierunekId) {
+        return (root, query, cb) -> cb.equal(root.get("kierunek").get("id"), kierunekId);
+    }
+    
+    public static Specification<Content> hasCategory(Long categoryId) {
+        return (root, query, cb) -> cb.equal(root.get("category").get("id"), categoryId);
+    }
+    
+    public static Specification<Content> hasAuthor(Long authorId) {
+        return (root, query, cb) -> cb.equal(root.get("author").get("id"), authorId);
+    }
+    
+    public static Specification<Content> hasType(Content.ContentType type) {
+        return (root, query, cb) -> cb.equal(root.get("type"), type);
+    }
+    
+    /**
+     * Content carrying the tag, as an EXISTS over the content_tags join table.
+     * @param name normalized tag name, see {@link Tag#normalize}
+     */
+    public static Specification<Content> hasTag(String name) {
+        return (root, query, cb) -> {
+            Subquery<Long> tagged = query.subquery(Long.class);
+            Root<Content> correlated = tagged.correlate(root);
+            Join<Content, Tag> tag = correlated.join("tagSet");
+            tagged.select(tag.<Long>get("id")).where(cb.equal(tag.get("name"), name));
+            return cb.exists(tagged);
+        };
+    }
+    
+    public static Specification<Content> publishedOnOrAfter(LocalDate from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.<LocalDateTime>get("publishedAt"), from.atStartOfDay());
+    }
+    
+    public static Specification<Content> publishedOnOrBefore(LocalDate to) {
+        return (root, query, cb) -> cb.lessThan(root.<LocalDateTime>get("publishedAt"), to.plusDays(1).atStartOfDay());
+    }
+    
+    /**
+     * Published content matching every filter that is set.
+     */
+    public static Specification<Content> matching(ContentFilter filter) {
+        Specification<Content> specification = published();
+        if (filter.getType() != null) {
+            specification = specification.and(hasType(filter.getType()));
+        }
+        if (filter.getKierunekId() != null) {
+            specification = specification.and(hasKierunek(filter.getKierunekId()));
+        }
+        if (filter.getCategoryId() != null) {
+            specification = specification.and(hasCategory(filter.getCategoryId()));
+        }
+        if (filter.normalizedTag() != null) {
+            specification = specification.and(hasTag(filter.normalizedTag()));
+        }
+        if (filter.getFrom() != null) {
+            specification = specification.and(publishedOnOrAfter(filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            specification = specification.and(publishedOnOrBefore(filter.getTo()));
+        }
+        return specification;
+    }
+    
+    /**
+     * Rows strictly after the cursor in its own ordering:
+     * key <= value AND (key < value OR (key = value AND id < lastId)), mirrored for ascending order.
+     * The leading conjunct is redundant but gives PostgreSQL a range bound on the (key, id) index,
+     * so the scan starts at the cursor instead of filtering from the start of the index.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Content> after(ContentCursor cursor) {
+        return (root, query, cb) -> {
+            Path<Comparable> key = root.get(cursor.sortKey().getProperty());
+            Path<Long> id = root.get("id");
+            Comparable value = cursor.value();
+            
+            if (cursor.direction() == Sort.Direction.DESC) {
+                return cb.and(cb.lessThanOrEqualTo(key, value),
+                        cb.or(cb.lessThan(key, value),
+                                cb.and(cb.equal(key, value), cb.lessThan(id, cursor.id()))));
+            }
+            return cb.and(cb.greaterThanOrEqualTo(key, value),
+                    cb.or(cb.greaterThan(key, value),
+                            cb.and(cb.equal(key, value), cb.greaterThan(id, cursor.id()))));
+        };
+    }
+}
@@ -20,6 +20,8 @@ public interface KierunekRepository extends JpaRepository<Kierunek, Long> {
     
     Boolean existsByName(String name);
     
+    long countByIsActiveTrue();
+    
     List<Kierunek> findByIsActiveTrue();
     
     Page<Kierunek> findByIsActiveTrue(Pageable pageable);
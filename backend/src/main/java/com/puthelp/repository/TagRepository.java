@@ -0,0 +1,29 @@
+package com.puthelp.repository;
+
+import com.puthelp.dto.content.TagCountDto;
+import com.puthelp.entity.Tag;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TagRepository extends JpaRepository<Tag, Long> {
+    
+    List<Tag> findByNameIn(Collection<String> names);
+    
+    // Concurrent writers may introduce the same tag; the loser's insert is a no-op
+    @Modifying
+    @Query(value = "INSERT INTO tags (name) VALUES (:name) ON CONFLICT (name) DO NOTHING", nativeQuery = true)
+    void insertIfAbsent(@Param("name") String name);
+    
+    @Query("SELECT new com.puthelp.dto.content.TagCountDto(t.name, COUNT(c)) " +
+           "FROM Content c JOIN c.tagSet t WHERE c.status = 'PUBLISHED' " +
+           "GROUP BY t.name ORDER BY COUNT(c) DESC, t.name")
+    List<TagCountDto> countPublishedByTag(Pageable pageable);
+}
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -33,6 +34,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Page<User> findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCaseOrEmailContainingIgnoreCase(
         String firstName, String lastName, String email, Pageable pageable);
     
+    @Query("SELECT u.isActive, count(u) FROM User u GROUP BY u.isActive")
+    List<Object[]> countGroupedByActive();
+    
+    @Query("SELECT r.name, count(u) FROM User u JOIN u.roles r GROUP BY r.name")
+    List<Object[]> countGroupedByRole();
+    
     @Query("SELECT u FROM User u JOIN u.roles r WHERE r = :role")
     Page<User> findByRolesContaining(@Param("role") com.puthelp.entity.Role role, Pageable pageable);
 }
@@ -0,0 +1,279 @@
+package com.puthelp.search;
+
+import com.puthelp.cache.CacheInvalidationBus;
+import com.puthelp.cache.CacheInvalidationListener;
+import com.puthelp.cache.CacheRegion;
+import com.puthelp.entity.Tag;
+import com.puthelp.repository.ContentRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * In-memory facet index over published content.
+ *
+ * Every facet value (type, kierunek, category, tag) owns a bitset of content ids, so a filter
+ * is an intersection of bitsets and a facet count is the cardinality of one more intersection.
+ * The index is an immutable snapshot: a content change re-reads that content, copies only the
+ * bitsets it touches and swaps the snapshot in, so readers never lock.
+ */
+@Component
+public class FacetIndex implements CacheInvalidationListener {
+    
+    public static final String TYPE = "type";
+    
+    public static final String KIERUNEK = "kierunek";
+    
+    public static final String CATEGORY = "category";
+    
+    public static final String TAG = "tag";
+    
+    private static final List<String> DIMENSIONS = List.of(TYPE, KIERUNEK, CATEGORY, TAG);
+    
+    // Tags are open-ended; only the most frequent ones are returned as facet values
+    private static final int MAX_TAG_VALUES = 50;
+    
+    private static final Logger logger = LoggerFactory.getLogger(FacetIndex.class);
+    
+    @Autowired
+    private ContentRepository contentRepository;
+    
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+    
+    private volatile Snapshot snapshot = Snapshot.empty();
+    
+    @PostConstruct
+    public void registerInvalidation() {
+        cacheInvalidationBus.register(CacheRegion.CONTENT, this);
+        
+        // Facet labels embed category and kierunek names
+        CacheInvalidationListener reloadAll = new CacheInvalidationListener() {
+            @Override
+            public void onEvict(String key) {
+                reload();
+            }
+            
+            @Override
+            public void onEvictAll() {
+                reload();
+            }
+        };
+        cacheInvalidationBus.register(CacheRegion.CATEGORY, reloadAll);
+        cacheInvalidationBus.register(CacheRegion.KIERUNEK, reloadAll);
+    }
+    
+    /**
+     * Filters by the selected facet values and counts every facet value under the other selections.
+     * @param selection selected value per dimension; dimensions without a value are not filtered
+     * @param offset matches to skip, newest first
+     * @param limit maximum ids to return
+     * @return the page of matching ids, the total number of matches and the facet counts
+     */
+    public FacetResult query(Map<String, String> selection, int offset, int limit) {
+        Snapshot current = snapshot;
+        BitSet matches = intersect(current, selection, null);
+        
+        // Ids grow with creation time, so walking down from the highest bit lists newest first
+        List<Long> ids = new ArrayList<>(limit);
+        int skipped = 0;
+        for (int bit = matches.length() - 1; bit >= 0 && ids.size() < limit; bit = matches.previousSetBit(bit - 1)) {
+            if (skipped++ >= offset) {
+                ids.add((long) bit);
+            }
+        }
+        
+        // Each dimension is counted under the other dimensions' selections, so picking a value
+        // still shows how many results the alternatives would give
+        Map<String, List<FacetValue>> facets = new LinkedHashMap<>();
+        for (String dimension : DIMENSIONS) {
+            BitSet base = intersect(current, selection, dimension);
+            facets.put(dimension, count(current, dimension, base));
+        }
+        
+        return new FacetResult(ids, matches.cardinality(), facets);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        Snapshot loaded = Snapshot.empty();
+        for (FacetSource source : contentRepository.findPublishedFacetSources()) {
+            loaded.add(source);
+        }
+        snapshot = loaded;
+        logger.info("Loaded facet index of {} published contents", loaded.sources.size());
+    }
+    
+    @Override
+    public synchronized void onEvict(String key) {
+        Long id = Long.valueOf(key);
+        Optional<FacetSource> source = contentRepository.findPublishedFacetSource(id);
+        
+        Snapshot updated = snapshot.copy();
+        FacetSource previous = updated.sources.get(id);
+        if (previous != null) {
+            updated.remove(previous);
+        }
+        source.ifPresent(updated::add);
+        snapshot = updated;
+    }
+    
+    @Override
+    public void onEvictAll() {
+        reload();
+    }
+    
+    private BitSet intersect(Snapshot current, Map<String, String> selection, String excludedDimension) {
+        BitSet result = (BitSet) current.all.clone();
+        selection.forEach((dimension, value) -> {
+            if (value == null || dimension.equals(excludedDimension)) {
+                return;
+            }
+            BitSet bits = current.values.getOrDefault(dimension, Map.of()).get(normalize(dimension, value));
+            if (bits == null) {
+                result.clear();
+            } else {
+                result.and(bits);
+            }
+        });
+        return result;
+    }
+    
+    private List<FacetValue> count(Snapshot current, String dimension, BitSet base) {
+        List<FacetValue> counts = new ArrayList<>();
+        Map<String, String> labels = current.labels.getOrDefault(dimension, Map.of());
+        current.values.getOrDefault(dimension, Map.of()).forEach((value, bits) -> {
+            BitSet matching = (BitSet) bits.clone();
+            matching.and(base);
+            int count = matching.cardinality();
+            if (count > 0) {
+                counts.add(new FacetValue(value, labels.getOrDefault(value, value), count));
+            }
+        });
+        
+        counts.sort(Comparator.comparingLong(FacetValue::count).reversed().thenComparing(FacetValue::label));
+        return TAG.equals(dimension) && counts.size() > MAX_TAG_VALUES ? counts.subList(0, MAX_TAG_VALUES) : counts;
+    }
+    
+    private static String normalize(String dimension, String value) {
+        return TAG.equals(dimension) ? Tag.normalize(value) : value;
+    }
+    
+    private static Map<String, String> valuesOf(FacetSource source) {
+        Map<String, String> values = new LinkedHashMap<>();
+        if (source.type() != null) {
+            values.put(TYPE, source.type().name());
+        }
+        if (source.kierunekId() != null) {
+            values.put(KIERUNEK, String.valueOf(source.kierunekId()));
+        }
+        if (source.categoryId() != null) {
+            values.put(CATEGORY, String.valueOf(source.categoryId()));
+        }
+        return values;
+    }
+    
+    private static Set<String> tagsOf(FacetSource source) {
+        return Tag.parse(source.tags());
+    }
+    
+    public record FacetResult(List<Long> ids, long total, Map<String, List<FacetValue>> facets) {
+    }
+    
+    /**
+     * Bitsets per dimension and value. Only the owner of a fresh copy mutates it, before
+     * publishing it through the volatile field; published snapshots are never modified.
+     */
+    private static final class Snapshot {
+        
+        private final BitSet all;
+        private final Map<String, Map<String, BitSet>> values;
+        private final Map<String, Map<String, String>> labels;
+        private final Map<Long, FacetSource> sources;
+        
+        // Bitsets created by this copy, which it may write in place
+        private final Set<BitSet> owned = Collections.newSetFromMap(new IdentityHashMap<>());
+        
+        private Snapshot(BitSet all, Map<String, Map<String, BitSet>> values,
+                         Map<String, Map<String, String>> labels, Map<Long, FacetSource> sources) {
+            this.all = all;
+            this.values = values;
+            this.labels = labels;
+            this.sources = sources;
+        }
+        
+        static Snapshot empty() {
+            Map<String, Map<String, BitSet>> values = new HashMap<>();
+            Map<String, Map<String, String>> labels = new HashMap<>();
+            for (String dimension : DIMENSIONS) {
+                values.put(dimension, new HashMap<>());
+                labels.put(dimension, new HashMap<>());
+            }
+            return new Snapshot(new BitSet(), values, labels, new HashMap<>());
+        }
+        
+        // Value bitsets are shared with the original until written; see bitsFor
+        Snapshot copy() {
+            Map<String, Map<String, BitSet>> valuesCopy = new HashMap<>();
+            values.forEach((dimension, bits) -> valuesCopy.put(dimension, new HashMap<>(bits)));
+            Map<String, Map<String, String>> labelsCopy = new HashMap<>();
+            labels.forEach((dimension, names) -> labelsCopy.put(dimension, new HashMap<>(names)));
+            return new Snapshot((BitSet) all.clone(), valuesCopy, labelsCopy, new HashMap<>(sources));
+        }
+        
+        void add(FacetSource source) {
+            int bit = Math.toIntExact(source.id());
+            all.set(bit);
+            valuesOf(source).forEach((dimension, value) -> bitsFor(dimension, value).set(bit));
+            tagsOf(source).forEach(tag -> bitsFor(TAG, tag).set(bit));
+            
+            if (source.kierunekId() != null) {
+                labels.get(KIERUNEK).put(String.valueOf(source.kierunekId()), source.kierunekName());
+            }
+            if (source.categoryId() != null) {
+                labels.get(CATEGORY).put(String.valueOf(source.categoryId()), source.categoryName());
+            }
+            sources.put(source.id(), source);
+        }
+        
+        void remove(FacetSource source) {
+            int bit = Math.toIntExact(source.id());
+            all.clear(bit);
+            valuesOf(source).forEach((dimension, value) -> bitsFor(dimension, value).clear(bit));
+            tagsOf(source).forEach(tag -> bitsFor(TAG, tag).clear(bit));
+            sources.remove(source.id());
+            
+            // Drop values no content has any more, so they stop showing up as facets
+            values.values().forEach(bits -> bits.values().removeIf(BitSet::isEmpty));
+        }
+        
+        private BitSet bitsFor(String dimension, String value) {
+            BitSet bits = values.get(dimension).get(value);
+            if (bits != null && owned.contains(bits)) {
+                return bits;
+            }
+            
+            // Copy on write: a bitset this copy did not create is shared with the published snapshot
+            BitSet writable = bits == null ? new BitSet() : (BitSet) bits.clone();
+            owned.add(writable);
+            values.get(dimension).put(value, writable);
+            return writable;
+        }
+    }
+}
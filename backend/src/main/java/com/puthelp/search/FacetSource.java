@@ -0,0 +1,10 @@
+package com.puthelp.search;
+
+import com.puthelp.entity.Content;
+
+/**
+ * Facet values of one published content, as loaded by {@link FacetIndex}.
+ */
+public record FacetSource(Long id, Content.ContentType type, Long kierunekId, String kierunekName,
+                          Long categoryId, String categoryName, String tags) {
+}
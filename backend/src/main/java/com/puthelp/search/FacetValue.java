@@ -0,0 +1,7 @@
+package com.puthelp.search;
+
+/**
+ * One facet value with the number of matching contents, e.g. ("12", "Algorithms", 42).
+ */
+public record FacetValue(String value, String label, long count) {
+}
@@ -0,0 +1,358 @@
+package com.puthelp.search;
+
+import com.puthelp.cache.CacheInvalidationBus;
+import com.puthelp.cache.CacheInvalidationListener;
+import com.puthelp.cache.CacheRegion;
+import com.puthelp.entity.Content;
+import com.puthelp.repository.ContentRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.Bits;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Embedded Lucene index of published content on local disk, so search load scales with
+ * backend replicas instead of hitting PostgreSQL.
+ *
+ * The index is rebuilt from the repository at startup and kept near-real-time by content
+ * invalidations: every publish, update or delete on any node reaches this listener through
+ * the {@link CacheInvalidationBus}, and the changed row is re-read and re-indexed.
+ */
+@Component
+@ConditionalOnProperty(name = "search.backend", havingValue = "lucene")
+public class LuceneSearchBackend implements SearchBackend, CacheInvalidationListener {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LuceneSearchBackend.class);
+    
+    private static final String FIELD_ID = "id";
+    
+    private static final String[] SEARCH_FIELDS = {"title", "tags", "summary", "body"};
+    
+    private static final String[] FUZZY_FIELDS = {"title", "tags"};
+    
+    // Same precedence as the PostgreSQL weights: title > tags > summary > body
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(
+            "title", 4.0f,
+            "tags", 3.0f,
+            "summary", 2.0f,
+            "body", 1.0f
+    );
+    
+    private static final int REBUILD_PAGE_SIZE = 500;
+    
+    @Autowired
+    private ContentRepository contentRepository;
+    
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+    
+    @Value("${search.lucene.index-dir}")
+    private String indexDir;
+    
+    private final Analyzer analyzer = new StandardAnalyzer();
+    
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor();
+    
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    
+    // Serializes rebuilds; incremental writes synchronize on this instance instead
+    private final Object rebuildLock = new Object();
+    
+    // Ids written incrementally while a rebuild runs, null otherwise; guarded by this instance
+    private Set<Long> touchedDuringRebuild;
+    
+    private Directory directory;
+    
+    private IndexWriter writer;
+    
+    private SearcherManager searcherManager;
+    
+    @PostConstruct
+    public void open() throws IOException {
+        directory = FSDirectory.open(Path.of(indexDir));
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, null);
+        cacheInvalidationBus.register(CacheRegion.CONTENT, this);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        // Changes made while this node was down never reached its index
+        queueRebuild();
+    }
+    
+    @Override
+    public SearchHits search(String query, Pageable pageable) {
+        if (query == null || query.isBlank()) {
+            return SearchHits.empty();
+        }
+        return search(SEARCH_FIELDS, QueryParser.escape(query), pageable);
+    }
+    
+    @Override
+    public SearchHits fuzzySearch(String query, Pageable pageable) {
+        if (query == null || query.isBlank()) {
+            return SearchHits.empty();
+        }
+        
+        // Each word becomes a fuzzy term matching up to two edits away
+        String fuzzyQuery = Arrays.stream(query.trim().split("\\s+"))
+                .map(word -> QueryParser.escape(word) + "~")
+                .collect(Collectors.joining(" "));
+        return search(FUZZY_FIELDS, fuzzyQuery, pageable);
+    }
+    
+    /**
+     * Reconciles the index with the database without blocking incremental updates.
+     *
+     * Published rows are read in id order by keyset and upserted by id, so concurrent publishes
+     * can neither shift a batch nor leave a duplicate document. The write monitor is held only
+     * per batch: ids that {@link #index} or {@link #remove} touched since the rebuild started
+     * carry newer data than the batch and are skipped. Documents whose id the scan never saw
+     * are deleted at the end.
+     */
+    @Override
+    public long rebuildIndex() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                touchedDuringRebuild = new HashSet<>();
+            }
+            try {
+                Set<Long> seen = new HashSet<>();
+                long lastId = 0;
+                List<Content> batch;
+                do {
+                    batch = contentRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                            Content.ContentStatus.PUBLISHED, lastId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+                    upsertBatch(batch);
+                    for (Content content : batch) {
+                        seen.add(content.getId());
+                        lastId = content.getId();
+                    }
+                } while (batch.size() == REBUILD_PAGE_SIZE);
+                
+                int deleted = deleteUnseen(seen);
+                writer.commit();
+                searcherManager.maybeRefresh();
+                logger.info("Rebuilt search index with {} documents, {} stale removed", seen.size(), deleted);
+                return seen.size();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Search index rebuild failed", e);
+            } finally {
+                synchronized (this) {
+                    touchedDuringRebuild = null;
+                }
+            }
+        }
+    }
+    
+    @Override
+    public void onEvict(String key) {
+        Long id = Long.valueOf(key);
+        contentRepository.findById(id)
+                .filter(content -> content.getStatus() == Content.ContentStatus.PUBLISHED)
+                .ifPresentOrElse(this::index, () -> remove(id));
+    }
+    
+    @Override
+    public void onEvictAll() {
+        queueRebuild();
+    }
+    
+    @PreDestroy
+    public void close() throws IOException {
+        rebuildExecutor.shutdownNow();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+    
+    private synchronized void index(Content content) {
+        markTouched(content.getId());
+        try {
+            writer.updateDocument(new Term(FIELD_ID, String.valueOf(content.getId())), toDocument(content));
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            logger.error("Cannot index content {}: {}", content.getId(), e.getMessage());
+        }
+    }
+    
+    private synchronized void remove(Long id) {
+        markTouched(id);
+        try {
+            writer.deleteDocuments(new Term(FIELD_ID, String.valueOf(id)));
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            logger.error("Cannot remove content {} from index: {}", id, e.getMessage());
+        }
+    }
+    
+    private synchronized void upsertBatch(List<Content> batch) throws IOException {
+        for (Content content : batch) {
+            if (!touchedDuringRebuild.contains(content.getId())) {
+                writer.updateDocument(new Term(FIELD_ID, String.valueOf(content.getId())), toDocument(content));
+            }
+        }
+    }
+    
+    // Deletes documents of content that is no longer published, found by walking every live document
+    private int deleteUnseen(Set<Long> seen) throws IOException {
+        searcherManager.maybeRefreshBlocking();
+        List<Long> unseen = new ArrayList<>();
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            for (LeafReaderContext leaf : searcher.getIndexReader().leaves()) {
+                LeafReader reader = leaf.reader();
+                Bits liveDocs = reader.getLiveDocs();
+                StoredFields storedFields = reader.storedFields();
+                for (int doc = 0; doc < reader.maxDoc(); doc++) {
+                    if (liveDocs == null || liveDocs.get(doc)) {
+                        Long id = Long.valueOf(storedFields.document(doc).get(FIELD_ID));
+                        if (!seen.contains(id)) {
+                            unseen.add(id);
+                        }
+                    }
+                }
+            }
+        } finally {
+            release(searcher);
+        }
+        
+        synchronized (this) {
+            int deleted = 0;
+            for (Long id : unseen) {
+                if (!touchedDuringRebuild.contains(id)) {
+                    writer.deleteDocuments(new Term(FIELD_ID, String.valueOf(id)));
+                    deleted++;
+                }
+            }
+            return deleted;
+        }
+    }
+    
+    // Called with the write monitor held
+    private void markTouched(Long id) {
+        if (touchedDuringRebuild != null) {
+            touchedDuringRebuild.add(id);
+        }
+    }
+    
+    private void queueRebuild() {
+        // Several rebuild requests while one is pending collapse into a single rebuild
+        if (rebuildQueued.compareAndSet(false, true)) {
+            rebuildExecutor.execute(() -> {
+                rebuildQueued.set(false);
+                try {
+                    rebuildIndex();
+                } catch (Exception e) {
+                    logger.error("Search index rebuild failed: {}", e.getMessage());
+                }
+            });
+        }
+    }
+    
+    private SearchHits search(String[] fields, String queryText, Pageable pageable) {
+        Query luceneQuery;
+        try {
+            MultiFieldQueryParser parser = new MultiFieldQueryParser(fields, analyzer, FIELD_BOOSTS);
+            parser.setDefaultOperator(QueryParser.Operator.AND);
+            luceneQuery = parser.parse(queryText);
+        } catch (ParseException e) {
+            return SearchHits.empty();
+        }
+        
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            int offset = (int) pageable.getOffset();
+            TopDocs topDocs = searcher.search(luceneQuery, offset + pageable.getPageSize());
+            
+            List<Long> ids = new ArrayList<>();
+            ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+            for (int i = offset; i < scoreDocs.length; i++) {
+                ids.add(Long.valueOf(searcher.storedFields().document(scoreDocs[i].doc).get(FIELD_ID)));
+            }
+            
+            long total = topDocs.totalHits.relation == TotalHits.Relation.EQUAL_TO
+                    ? topDocs.totalHits.value
+                    : searcher.count(luceneQuery);
+            return new SearchHits(ids, total);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Search failed", e);
+        } finally {
+            release(searcher);
+        }
+    }
+    
+    private Document toDocument(Content content) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_ID, String.valueOf(content.getId()), Field.Store.YES));
+        document.add(new TextField("title", nullToEmpty(content.getTitle()), Field.Store.NO));
+        document.add(new TextField("tags", nullToEmpty(content.getTags()), Field.Store.NO));
+        document.add(new TextField("summary", nullToEmpty(content.getSummary()), Field.Store.NO));
+        document.add(new TextField("body", nullToEmpty(content.getBody()), Field.Store.NO));
+        return document;
+    }
+    
+    private String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+    
+    private void release(IndexSearcher searcher) {
+        if (searcher == null) {
+            return;
+        }
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            logger.warn("Cannot release index searcher: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.puthelp.search;
+
+import com.puthelp.repository.ContentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Searches the GIN-indexed search_vector column. PostgreSQL maintains the column itself,
+ * so there is no index to keep in sync.
+ */
+@Component
+@ConditionalOnProperty(name = "search.backend", havingValue = "postgres", matchIfMissing = true)
+public class PostgresSearchBackend implements SearchBackend {
+    
+    @Autowired
+    private ContentRepository contentRepository;
+    
+    @Value("${search.fuzzy.threshold}")
+    private double fuzzyThreshold;
+    
+    @Override
+    public SearchHits search(String query, Pageable pageable) {
+        String tsQuery = toPrefixTsQuery(query);
+        if (tsQuery.isEmpty()) {
+            return SearchHits.empty();
+        }
+        
+        Page<Long> ids = contentRepository.searchPublishedContentIds(tsQuery, pageable);
+        return new SearchHits(ids.getContent(), ids.getTotalElements());
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public SearchHits fuzzySearch(String query, Pageable pageable) {
+        String normalized = query.trim().toLowerCase();
+        if (normalized.isEmpty()) {
+            return SearchHits.empty();
+        }
+        
+        // The threshold is transaction-local, so it only affects the query below
+        contentRepository.setWordSimilarityThreshold(String.valueOf(fuzzyThreshold));
+        Page<Long> ids = contentRepository.fuzzySearchPublishedContentIds(normalized, pageable);
+        return new SearchHits(ids.getContent(), ids.getTotalElements());
+    }
+    
+    @Override
+    public long rebuildIndex() {
+        // Nothing to rebuild, search_vector is a generated column
+        return 0;
+    }
+    
+    private String toPrefixTsQuery(String query) {
+        // Every word must match, as a prefix so results follow the user's typing
+        return Arrays.stream(query.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
@@ -0,0 +1,30 @@
+package com.puthelp.search;
+
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Full-text search over published content. The implementation is selected with search.backend.
+ */
+public interface SearchBackend {
+    
+    /**
+     * @param query the user's query text
+     * @param pageable page and size; results are always ordered by relevance
+     * @return ids of matching published content
+     */
+    SearchHits search(String query, Pageable pageable);
+    
+    /**
+     * Typo-tolerant search over titles and tags, ordered by similarity.
+     * @param query the user's query text
+     * @param pageable page and size
+     * @return ids of matching published content
+     */
+    SearchHits fuzzySearch(String query, Pageable pageable);
+    
+    /**
+     * Rebuilds the whole index from the content repository.
+     * @return the number of indexed documents
+     */
+    long rebuildIndex();
+}
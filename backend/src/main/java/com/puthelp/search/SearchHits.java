@@ -0,0 +1,13 @@
+package com.puthelp.search;
+
+import java.util.List;
+
+/**
+ * One page of search results: content ids in relevance order plus the total number of matches.
+ */
+public record SearchHits(List<Long> contentIds, long totalHits) {
+    
+    public static SearchHits empty() {
+        return new SearchHits(List.of(), 0);
+    }
+}
@@ -0,0 +1,330 @@
+package com.puthelp.search;
+
+import com.puthelp.cache.CacheInvalidationBus;
+import com.puthelp.cache.CacheInvalidationListener;
+import com.puthelp.cache.CacheRegion;
+import com.puthelp.repository.ContentRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory autocomplete over published titles and tags.
+ *
+ * Suggestions live in an immutable trie whose nodes hold their top completions by view
+ * count, so a lookup is a walk of the prefix length with no database access. A content change
+ * re-reads only that content and replaces the suggestions built from its old and new title and
+ * tags: the nodes on their key paths are copied, their top lists recomputed from the children,
+ * and the new root swapped in. The periodic reload rebuilds everything and refreshes the
+ * view-count weights.
+ */
+@Component
+public class SuggestionIndex implements CacheInvalidationListener {
+    
+    public static final int MAX_SUGGESTIONS = 10;
+    
+    // Longer prefixes are matched on their first characters and filtered afterwards
+    private static final int MAX_KEY_LENGTH = 32;
+    
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    
+    private static final Comparator<Suggestion> BY_WEIGHT =
+            Comparator.comparingLong(Suggestion::weight).reversed().thenComparing(Suggestion::normalized);
+    
+    private static final Logger logger = LoggerFactory.getLogger(SuggestionIndex.class);
+    
+    @Autowired
+    private ContentRepository contentRepository;
+    
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+    
+    // Both guarded by this instance
+    private final Map<Long, SuggestionSource> sources = new HashMap<>();
+    
+    // Titles and tags shared by several contents become one suggestion weighted by their total views
+    private final Map<String, Aggregate> aggregates = new HashMap<>();
+    
+    private volatile Node root = new Node();
+    
+    @PostConstruct
+    public void registerInvalidation() {
+        cacheInvalidationBus.register(CacheRegion.CONTENT, this);
+    }
+    
+    public List<String> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        
+        Node node = root;
+        String key = normalized.length() > MAX_KEY_LENGTH ? normalized.substring(0, MAX_KEY_LENGTH) : normalized;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        
+        List<String> result = new ArrayList<>(Math.min(limit, node.top.size()));
+        for (Suggestion suggestion : node.top) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (key.length() == normalized.length() || suggestion.normalized().contains(normalized)) {
+                result.add(suggestion.text());
+            }
+        }
+        return result;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${search.suggest.reload-interval}", initialDelayString = "${search.suggest.reload-interval}")
+    public synchronized void reload() {
+        sources.clear();
+        aggregates.clear();
+        for (SuggestionSource source : contentRepository.findPublishedSuggestionSources()) {
+            sources.put(source.id(), source);
+            contribute(source, 1);
+        }
+        
+        Node newRoot = new Node();
+        aggregates.forEach((normalized, aggregate) -> {
+            for (String key : keysOf(normalized)) {
+                Node node = newRoot;
+                for (int i = 0; i < key.length(); i++) {
+                    node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+                }
+                node.terminal.add(aggregate.suggestion(normalized));
+            }
+        });
+        computeTops(newRoot);
+        root = newRoot;
+        logger.info("Loaded autocomplete suggestions from {} published contents", sources.size());
+    }
+    
+    @Override
+    public synchronized void onEvict(String key) {
+        Long id = Long.valueOf(key);
+        SuggestionSource updated = contentRepository.findPublishedSuggestionSource(id).orElse(null);
+        SuggestionSource previous = updated != null ? sources.put(id, updated) : sources.remove(id);
+        if (Objects.equals(previous, updated)) {
+            return;
+        }
+        
+        Set<String> changed = new HashSet<>();
+        if (previous != null) {
+            changed.addAll(contribute(previous, -1));
+        }
+        if (updated != null) {
+            changed.addAll(contribute(updated, 1));
+        }
+        
+        Update update = new Update(root);
+        for (String normalized : changed) {
+            Aggregate aggregate = aggregates.get(normalized);
+            Suggestion suggestion = aggregate != null ? aggregate.suggestion(normalized) : null;
+            for (String path : keysOf(normalized)) {
+                update.replace(path, normalized, suggestion);
+            }
+        }
+        root = update.root;
+    }
+    
+    @Override
+    public void onEvictAll() {
+        reload();
+    }
+    
+    // Adds (sign 1) or withdraws (sign -1) a content's title and tags; returns the normalized texts touched
+    private Set<String> contribute(SuggestionSource source, int sign) {
+        Set<String> touched = new HashSet<>();
+        long weight = source.viewCount() != null ? source.viewCount() : 0L;
+        for (String text : textsOf(source)) {
+            String normalized = normalize(text);
+            if (normalized.isEmpty()) {
+                continue;
+            }
+            touched.add(normalized);
+            
+            Aggregate current = aggregates.get(normalized);
+            if (sign > 0) {
+                aggregates.put(normalized, current == null
+                        ? new Aggregate(text.trim(), weight, 1)
+                        : new Aggregate(current.text(), current.weight() + weight, current.contributors() + 1));
+            } else if (current != null && current.contributors() <= 1) {
+                aggregates.remove(normalized);
+            } else if (current != null) {
+                aggregates.put(normalized,
+                        new Aggregate(current.text(), current.weight() - weight, current.contributors() - 1));
+            }
+        }
+        return touched;
+    }
+    
+    private static List<String> textsOf(SuggestionSource source) {
+        List<String> texts = new ArrayList<>();
+        if (source.title() != null) {
+            texts.add(source.title());
+        }
+        if (source.tags() != null) {
+            texts.addAll(Arrays.asList(source.tags().split(",")));
+        }
+        return texts;
+    }
+    
+    // Index from every word start, so "alg" also completes "Wstęp do algorytmów"
+    private static Set<String> keysOf(String normalized) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (int start = 0; start < normalized.length(); start++) {
+            if (start == 0 || normalized.charAt(start - 1) == ' ') {
+                keys.add(normalized.substring(start, Math.min(normalized.length(), start + MAX_KEY_LENGTH)));
+            }
+        }
+        return keys;
+    }
+    
+    private static void computeTops(Node node) {
+        for (Node child : node.children.values()) {
+            computeTops(child);
+        }
+        node.computeTop();
+    }
+    
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String withoutMarks = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(withoutMarks.toLowerCase().replace('ł', 'l')).replaceAll(" ").trim();
+    }
+    
+    private record Suggestion(String text, String normalized, long weight) {
+    }
+    
+    private record Aggregate(String text, long weight, int contributors) {
+        
+        Suggestion suggestion(String normalized) {
+            return new Suggestion(text, normalized, weight);
+        }
+    }
+    
+    /**
+     * Copy-on-write edit of a published trie. Nodes are copied the first time the edit touches
+     * them, so readers of the published root never see a node change.
+     */
+    private static final class Update {
+        
+        private final Set<Node> owned = Collections.newSetFromMap(new IdentityHashMap<>());
+        
+        private final Node root;
+        
+        Update(Node published) {
+            root = own(published);
+        }
+        
+        // Replaces the suggestion with this normalized text at the end of the key, or removes it when null
+        void replace(String key, String normalized, Suggestion suggestion) {
+            Node[] path = new Node[key.length() + 1];
+            path[0] = root;
+            for (int i = 0; i < key.length(); i++) {
+                Node child = path[i].children.get(key.charAt(i));
+                if (child == null) {
+                    child = new Node();
+                    owned.add(child);
+                } else {
+                    child = own(child);
+                }
+                path[i].children.put(key.charAt(i), child);
+                path[i + 1] = child;
+            }
+            
+            Node leaf = path[key.length()];
+            leaf.terminal.removeIf(existing -> existing.normalized().equals(normalized));
+            if (suggestion != null) {
+                leaf.terminal.add(suggestion);
+            }
+            
+            // Only the nodes on this path can have a different top list
+            for (int i = key.length(); i > 0; i--) {
+                Node node = path[i];
+                if (node.terminal.isEmpty() && node.children.isEmpty()) {
+                    path[i - 1].children.remove(key.charAt(i - 1));
+                } else {
+                    node.computeTop();
+                }
+            }
+        }
+        
+        private Node own(Node node) {
+            if (owned.contains(node)) {
+                return node;
+            }
+            Node copy = node.copy();
+            owned.add(copy);
+            return copy;
+        }
+    }
+    
+    private static final class Node {
+        
+        private final Map<Character, Node> children;
+        
+        // Suggestions whose key ends at this node
+        private final List<Suggestion> terminal;
+        
+        private List<Suggestion> top = List.of();
+        
+        Node() {
+            this(new HashMap<>(), new ArrayList<>());
+        }
+        
+        private Node(Map<Character, Node> children, List<Suggestion> terminal) {
+            this.children = children;
+            this.terminal = terminal;
+        }
+        
+        Node copy() {
+            Node copy = new Node(new HashMap<>(children), new ArrayList<>(terminal));
+            copy.top = top;
+            return copy;
+        }
+        
+        // The best suggestions below a node are among its own and its children's best
+        void computeTop() {
+            // A suggestion reaches the same node once per matching word start
+            Map<String, Suggestion> candidates = new HashMap<>();
+            terminal.forEach(suggestion -> candidates.putIfAbsent(suggestion.normalized(), suggestion));
+            for (Node child : children.values()) {
+                child.top.forEach(suggestion -> candidates.putIfAbsent(suggestion.normalized(), suggestion));
+            }
+            top = candidates.values().stream()
+                    .sorted(BY_WEIGHT)
+                    .limit(MAX_SUGGESTIONS)
+                    .toList();
+        }
+    }
+}
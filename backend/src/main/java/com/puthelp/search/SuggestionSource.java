@@ -0,0 +1,7 @@
+package com.puthelp.search;
+
+/**
+ * The columns of a published content needed for autocomplete.
+ */
+public record SuggestionSource(Long id, String title, String tags, Long viewCount) {
+}
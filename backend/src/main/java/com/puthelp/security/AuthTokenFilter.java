@@ -7,7 +7,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,7 +16,6 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.concurrent.TimeUnit;
 
 public class AuthTokenFilter extends OncePerRequestFilter {
     
@@ -27,7 +26,16 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     private UserDetailsServiceImpl userDetailsService;
     
     @Autowired
-    private RedisTemplate<String, String> redisTemplate;
+    private SessionStore sessionStore;
+    
+    @Autowired
+    private PrincipalCache principalCache;
+    
+    @Autowired
+    private RevocationList revocationList;
+    
+    @Value("${jwt.stateless}")
+    private boolean stateless;
     
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
     
@@ -36,31 +44,22 @@ public class AuthTokenFilter extends OncePerRequestFilter {
                                   FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                // Only allow access tokens for authentication
-                if (!jwtUtils.isAccessToken(jwt)) {
-                    logger.warn("Attempted to use non-access token for authentication");
-                } else {
-                    String username = jwtUtils.getUsernameFromJwtToken(jwt);
-                    
-                    // Check if access token exists in Redis
-                    String accessSessionKey = "access_session:" + username;
-                    String storedToken = redisTemplate.opsForValue().get(accessSessionKey);
-                    
-                    if (storedToken != null && storedToken.equals(jwt)) {
-                        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                        UsernamePasswordAuthenticationToken authentication = 
-                                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        
-                        SecurityContextHolder.getContext().setAuthentication(authentication);
-                        
-                        // Refresh the token expiry in Redis
-                        redisTemplate.opsForValue().set(accessSessionKey, jwt, 15, TimeUnit.MINUTES);
+            UserPrincipal cachedPrincipal = jwt != null && !stateless ? principalCache.get(jwt) : null;
+            if (cachedPrincipal != null) {
+                // Verified recently on this node; skip the signature check, Redis and the database
+                authenticate(cachedPrincipal, request);
+            } else if (jwt != null) {
+                // One parse verifies the signature and yields every claim used below
+                jwtUtils.verify(jwt).ifPresent(token -> {
+                    if (!token.isAccessToken()) {
+                        // Only allow access tokens for authentication
+                        logger.warn("Attempted to use non-access token for authentication");
+                    } else if (stateless) {
+                        authenticateStateless(token, request);
                     } else {
-                        logger.warn("Access token not found in session or doesn't match");
+                        authenticateSession(jwt, token, request);
                     }
-                }
+                });
             }
         } catch (Exception e) {
             logger.error("Cannot set user authentication: {}", e.getMessage());
@@ -69,6 +68,46 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
     
+    private void authenticateSession(String jwt, VerifiedToken token, HttpServletRequest request) {
+        String username = token.subject();
+        
+        // Read before the checks, so an eviction while they run keeps the result out of the cache
+        long version = principalCache.version(username);
+        
+        // The token must still be the current access token of its login session
+        if (token.sessionId() != null && sessionStore.isActive(username, token.sessionId(), jwt)) {
+            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            authenticate(userDetails, request);
+            
+            if (userDetails instanceof UserPrincipal principal && principal.isEnabled()) {
+                principalCache.put(jwt, principal, token.expiresAt().getTime(), version);
+            }
+        } else {
+            logger.warn("Access token not found in session or doesn't match");
+        }
+    }
+    
+    // Verified with the signing key and the in-memory revocation list only; no Redis or database
+    private void authenticateStateless(VerifiedToken token, HttpServletRequest request) {
+        if (token.claims().get(JwtUtils.ROLES_CLAIM) == null) {
+            logger.warn("Attempted to authenticate with a token that carries no access claims");
+            return;
+        }
+        if (revocationList.isRevoked(token.subject(), token.id(), token.issuedAt())) {
+            logger.warn("Revoked access token presented for {}", token.subject());
+            return;
+        }
+        authenticate(UserPrincipal.fromClaims(token.claims()), request);
+    }
+    
+    private void authenticate(UserDetails userDetails, HttpServletRequest request) {
+        UsernamePasswordAuthenticationToken authentication = 
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+    
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
         
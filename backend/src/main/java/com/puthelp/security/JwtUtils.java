@@ -2,19 +2,31 @@ package com.puthelp.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtUtils {
     
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
     
+    public static final String USER_ID_CLAIM = "uid";
+    
+    public static final String ROLES_CLAIM = "roles";
+    
+    public static final String SESSION_ID_CLAIM = "sid";
+    
     @Value("${jwt.secret}")
     private String jwtSecret;
     
@@ -24,97 +36,70 @@ public class JwtUtils {
     @Value("${jwt.refresh.expiration}")
     private int refreshTokenExpirationMs;
     
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    // Built once from the secret; both are immutable and safe to share between threads
+    private SecretKey signingKey;
+    
+    private JwtParser parser;
+    
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parser().verifyWith(signingKey).build();
     }
     
-    public String generateAccessToken(String username) {
+    /**
+     * Access token carrying everything needed to authenticate without a lookup:
+     * user id, granted roles, a unique token id for revocation and the login session id.
+     */
+    public String generateAccessToken(UserPrincipal principal, String sessionId) {
+        List<String> roles = principal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
+        
         return Jwts.builder()
-                .subject(username)
+                .subject(principal.getUsername())
+                .id(UUID.randomUUID().toString())
                 .claim("type", "access")
+                .claim(USER_ID_CLAIM, principal.getId())
+                .claim(ROLES_CLAIM, roles)
+                .claim(SESSION_ID_CLAIM, sessionId)
                 .issuedAt(new Date())
                 .expiration(new Date(new Date().getTime() + accessTokenExpirationMs))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
     
-    public String generateRefreshToken(String username) {
+    /**
+     * Refresh token bound to a login session; the token id keeps rotations within one second distinct.
+     */
+    public String generateRefreshToken(String username, String sessionId) {
         return Jwts.builder()
                 .subject(username)
+                .id(UUID.randomUUID().toString())
                 .claim("type", "refresh")
+                .claim(SESSION_ID_CLAIM, sessionId)
                 .issuedAt(new Date())
                 .expiration(new Date(new Date().getTime() + refreshTokenExpirationMs))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
     
-    public String generateJwtToken(String username) {
-        // Keep for backward compatibility
-        return generateAccessToken(username);
-    }
-    
-    public String getUsernameFromJwtToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
-    }
-    
-    public boolean validateJwtToken(String authToken) {
+    /**
+     * Verifies the signature and expiry once and returns everything callers need from the token.
+     * @return the verified token, or empty when the token is malformed, forged or expired
+     */
+    public Optional<VerifiedToken> verify(String token) {
         try {
-            Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(authToken);
-            return true;
-        } catch (MalformedJwtException e) {
-            logger.error("Invalid JWT token: {}", e.getMessage());
+            return Optional.of(new VerifiedToken(parser.parseSignedClaims(token).getPayload()));
         } catch (ExpiredJwtException e) {
             logger.error("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
             logger.error("JWT token is unsupported: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
+        } catch (JwtException e) {
+            logger.error("Invalid JWT token: {}", e.getMessage());
         }
-        
-        return false;
-    }
-    
-    public boolean isTokenExpired(String token) {
-        try {
-            Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-            return claims.getExpiration().before(new Date());
-        } catch (ExpiredJwtException e) {
-            return true;
-        } catch (Exception e) {
-            return true;
-        }
-    }
-    
-    public String getTokenType(String token) {
-        try {
-            Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-            return claims.get("type", String.class);
-        } catch (Exception e) {
-            return null;
-        }
-    }
-    
-    public boolean isRefreshToken(String token) {
-        return "refresh".equals(getTokenType(token));
-    }
-    
-    public boolean isAccessToken(String token) {
-        return "access".equals(getTokenType(token));
+        return Optional.empty();
     }
 }
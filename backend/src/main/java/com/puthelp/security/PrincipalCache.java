@@ -0,0 +1,130 @@
+package com.puthelp.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.puthelp.cache.CacheInvalidationBus;
+import com.puthelp.cache.CacheInvalidationListener;
+import com.puthelp.cache.CacheRegion;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-node cache of verified access tokens, keyed by a digest of the token.
+ *
+ * A hit authenticates a request without parsing the JWT, checking the Redis session or
+ * loading the user. Entries live for a few seconds at most and never past the token's own
+ * expiry. Signout, role, status and password changes publish the username on the PRINCIPAL
+ * region, which drops that user's entries on every node. Each drop also bumps the user's
+ * version, so a verification that started before it cannot put its result back afterwards.
+ */
+@Component
+public class PrincipalCache {
+    
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+    
+    private final Cache<String, Entry> cache;
+    
+    // Evictions per user, absent until the first one; a user's version adds the evict-all count
+    private final ConcurrentMap<String, Long> versions = new ConcurrentHashMap<>();
+    
+    private final AtomicLong evictAllCount = new AtomicLong();
+    
+    public PrincipalCache(@Value("${auth.principal-cache.max-size}") long maxSize,
+                          @Value("${auth.principal-cache.expire-after-write}") long expireAfterWriteMs) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(expireAfterWriteMs))
+                .build();
+    }
+    
+    @PostConstruct
+    public void registerInvalidation() {
+        cacheInvalidationBus.register(CacheRegion.PRINCIPAL, new CacheInvalidationListener() {
+            @Override
+            public void onEvict(String key) {
+                evictLocal(key);
+            }
+            
+            @Override
+            public void onEvictAll() {
+                // Every user may have been evicted, so every verification in flight is stale
+                evictAllCount.incrementAndGet();
+                cache.invalidateAll();
+            }
+        });
+    }
+    
+    /**
+     * @return the principal verified for this exact token, or null when it has to be verified again
+     */
+    public UserPrincipal get(String token) {
+        Entry entry = cache.getIfPresent(digest(token));
+        if (entry == null || entry.expiresAt() <= System.currentTimeMillis()) {
+            return null;
+        }
+        return entry.principal();
+    }
+    
+    /**
+     * @return the user's eviction version, to be read before verifying a token and passed to {@link #put}
+     */
+    public long version(String username) {
+        return evictAllCount.get() + versions.getOrDefault(username, 0L);
+    }
+    
+    /**
+     * Caches the principal unless the user was evicted since {@code version} was read.
+     */
+    public void put(String token, UserPrincipal principal, long expiresAt, long version) {
+        String username = principal.getUsername();
+        if (version(username) != version) {
+            return;
+        }
+        
+        String key = digest(token);
+        cache.put(key, new Entry(principal, expiresAt));
+        
+        // An eviction between the check and the put may have scanned before the entry was there
+        if (version(username) != version) {
+            cache.invalidate(key);
+        }
+    }
+    
+    /**
+     * Drops the user's cached tokens on every node.
+     */
+    public void evict(String username) {
+        cacheInvalidationBus.publish(CacheRegion.PRINCIPAL, username);
+    }
+    
+    private void evictLocal(String username) {
+        versions.merge(username, 1L, Long::sum);
+        
+        // Evictions are rare next to lookups, so a scan beats keeping a second index by username
+        cache.asMap().values().removeIf(entry -> entry.principal().getUsername().equals(username));
+    }
+    
+    static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+    
+    private record Entry(UserPrincipal principal, long expiresAt) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.puthelp.security;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked access tokens for stateless authentication (jwt.stateless).
+ *
+ * Two sorted sets in Redis are the shared source of truth: revoked token ids (jti) scored by
+ * token expiry, and per-user "not before" times scored by revocation time. Every node copies
+ * them into memory on a fixed delay, so checking a token never leaves the JVM. Revocations
+ * made on this node apply locally at once; other nodes see them within one sync interval.
+ */
+@Component
+public class RevocationList {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RevocationList.class);
+    
+    private static final String REVOKED_TOKENS_KEY = "auth:revoked_jti";
+    
+    private static final String NOT_BEFORE_KEY = "auth:not_before";
+    
+    @Autowired
+    private RedisTemplate<String, String> redisTemplate;
+    
+    @Value("${jwt.access.expiration}")
+    private long accessTokenExpirationMs;
+    
+    // Token id to token expiry. Sync merges into these maps rather than replacing them, so a
+    // revocation made while a sync is running is never dropped
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    
+    private final Map<String, Long> notBefore = new ConcurrentHashMap<>();
+    
+    @PostConstruct
+    public void init() {
+        sync();
+    }
+    
+    /**
+     * Revokes one access token, e.g. on signout.
+     * @param expiresAt the token's expiry; the entry is dropped after it
+     */
+    public void revokeToken(String jti, Date expiresAt) {
+        revokedTokens.put(jti, expiresAt.getTime());
+        try {
+            redisTemplate.opsForZSet().add(REVOKED_TOKENS_KEY, jti, expiresAt.getTime());
+        } catch (Exception e) {
+            logger.warn("Cannot share revocation of token {}: {}", jti, e.getMessage());
+        }
+    }
+    
+    /**
+     * Revokes every access token the user holds now, e.g. on deactivation or a role change.
+     */
+    public void revokeUser(String username) {
+        // Token issue times have second precision; tokens issued within this second are revoked too
+        long cutoff = (System.currentTimeMillis() / 1000 + 1) * 1000;
+        notBefore.merge(username, cutoff, Math::max);
+        try {
+            redisTemplate.opsForZSet().add(NOT_BEFORE_KEY, username, cutoff);
+        } catch (Exception e) {
+            logger.warn("Cannot share revocation of {}: {}", username, e.getMessage());
+        }
+    }
+    
+    public boolean isRevoked(String username, String jti, Date issuedAt) {
+        if (jti != null && revokedTokens.containsKey(jti)) {
+            return true;
+        }
+        Long cutoff = notBefore.get(username);
+        return cutoff != null && (issuedAt == null || issuedAt.getTime() < cutoff);
+    }
+    
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval}")
+    public void sync() {
+        try {
+            long now = System.currentTimeMillis();
+            
+            // Expired tokens fail verification anyway, so their entries can go
+            redisTemplate.opsForZSet().removeRangeByScore(REVOKED_TOKENS_KEY, 0, now);
+            redisTemplate.opsForZSet().removeRangeByScore(NOT_BEFORE_KEY, 0, now - accessTokenExpirationMs);
+            
+            mergeInto(revokedTokens, redisTemplate.opsForZSet().rangeWithScores(REVOKED_TOKENS_KEY, 0, -1));
+            mergeInto(notBefore, redisTemplate.opsForZSet().rangeWithScores(NOT_BEFORE_KEY, 0, -1));
+            
+            // Local revocations whose write to Redis failed stay until they expire. The removal
+            // only matches the value it saw, so an entry raised concurrently survives
+            revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+            notBefore.values().removeIf(cutoff -> cutoff <= now - accessTokenExpirationMs);
+        } catch (Exception e) {
+            logger.warn("Cannot sync token revocation list, keeping local copy: {}", e.getMessage());
+        }
+    }
+    
+    private static void mergeInto(Map<String, Long> target, Set<ZSetOperations.TypedTuple<String>> entries) {
+        if (entries != null) {
+            for (ZSetOperations.TypedTuple<String> entry : entries) {
+                target.merge(entry.getValue(), entry.getScore().longValue(), Math::max);
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.puthelp.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Login sessions in Redis, one hash per user so several devices stay signed in at once.
+ *
+ * Hash sessions:{username} maps a session id (the sid claim of both tokens) to
+ * "refreshExpiresAt|accessDigest|refreshDigest". Signin, refresh rotation and signout each
+ * run as one Lua script, so they cost a single round trip and two refreshes racing on the
+ * same session cannot both win. Only token digests are stored, never the tokens.
+ */
+@Component
+public class SessionStore {
+    
+    private static final String KEY_PREFIX = "sessions:";
+    
+    // Drops expired sessions, adds the new one, then evicts the sessions closest to
+    // expiry while the user holds more than the limit
+    private static final RedisScript<Long> SIGNIN = new DefaultRedisScript<>("""
+            local now = tonumber(ARGV[3])
+            local entries = redis.call('HGETALL', KEYS[1])
+            for i = 1, #entries, 2 do
+                if tonumber(string.match(entries[i + 1], '^(%d+)')) <= now then
+                    redis.call('HDEL', KEYS[1], entries[i])
+                end
+            end
+            redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+            local limit = tonumber(ARGV[5])
+            local closed = 0
+            while redis.call('HLEN', KEYS[1]) > limit do
+                local oldest, oldestExpiry = nil, nil
+                local current = redis.call('HGETALL', KEYS[1])
+                for i = 1, #current, 2 do
+                    local expiry = tonumber(string.match(current[i + 1], '^(%d+)'))
+                    if current[i] ~= ARGV[1] and (oldestExpiry == nil or expiry < oldestExpiry) then
+                        oldest, oldestExpiry = current[i], expiry
+                    end
+                end
+                redis.call('HDEL', KEYS[1], oldest)
+                closed = closed + 1
+            end
+            redis.call('PEXPIRE', KEYS[1], ARGV[4])
+            return closed
+            """, Long.class);
+    
+    // Compare-and-swap on the refresh token digest: only the holder of the current
+    // refresh token can rotate the session
+    private static final RedisScript<Long> ROTATE = new DefaultRedisScript<>("""
+            local value = redis.call('HGET', KEYS[1], ARGV[1])
+            if not value then
+                return 0
+            end
+            local expiry, access, refresh = string.match(value, '^(%d+)|([^|]*)|([^|]*)$')
+            if tonumber(expiry) <= tonumber(ARGV[4]) then
+                redis.call('HDEL', KEYS[1], ARGV[1])
+                return 0
+            end
+            if refresh ~= ARGV[2] then
+                return 0
+            end
+            redis.call('HSET', KEYS[1], ARGV[1], ARGV[3])
+            redis.call('PEXPIRE', KEYS[1], ARGV[5])
+            return 1
+            """, Long.class);
+    
+    private static final RedisScript<Long> SIGNOUT = new DefaultRedisScript<>("""
+            return redis.call('HDEL', KEYS[1], ARGV[1])
+            """, Long.class);
+    
+    @Autowired
+    private RedisTemplate<String, String> redisTemplate;
+    
+    @Value("${jwt.refresh.expiration}")
+    private long refreshTokenExpirationMs;
+    
+    @Value("${auth.sessions.max-per-user}")
+    private int maxSessionsPerUser;
+    
+    public String newSessionId() {
+        return UUID.randomUUID().toString();
+    }
+    
+    /**
+     * Opens a session, closing the user's sessions closest to expiry beyond the per-user limit.
+     * @return the number of other sessions closed to stay within the limit
+     */
+    public long signin(String username, String sessionId, String accessToken, String refreshToken) {
+        long now = System.currentTimeMillis();
+        Long closed = redisTemplate.execute(SIGNIN, List.of(key(username)),
+                sessionId,
+                encode(now + refreshTokenExpirationMs, accessToken, refreshToken),
+                String.valueOf(now),
+                String.valueOf(refreshTokenExpirationMs),
+                String.valueOf(maxSessionsPerUser));
+        return closed != null ? closed : 0;
+    }
+    
+    /**
+     * Replaces the session's tokens if the presented refresh token is still the current one.
+     * @return false when the session is gone, expired or was already rotated with this token
+     */
+    public boolean rotate(String username, String sessionId, String presentedRefreshToken,
+                          String accessToken, String refreshToken) {
+        long now = System.currentTimeMillis();
+        Long rotated = redisTemplate.execute(ROTATE, List.of(key(username)),
+                sessionId,
+                PrincipalCache.digest(presentedRefreshToken),
+                encode(now + refreshTokenExpirationMs, accessToken, refreshToken),
+                String.valueOf(now),
+                String.valueOf(refreshTokenExpirationMs));
+        return rotated != null && rotated == 1L;
+    }
+    
+    /**
+     * @return whether the access token is the current one of a live session
+     */
+    public boolean isActive(String username, String sessionId, String accessToken) {
+        Object value = redisTemplate.opsForHash().get(key(username), sessionId);
+        if (value == null) {
+            return false;
+        }
+        
+        String[] parts = value.toString().split("\\|", 3);
+        return parts.length == 3
+                && Long.parseLong(parts[0]) > System.currentTimeMillis()
+                && parts[1].equals(PrincipalCache.digest(accessToken));
+    }
+    
+    public void signout(String username, String sessionId) {
+        redisTemplate.execute(SIGNOUT, List.of(key(username)), sessionId);
+    }
+    
+    /**
+     * Ends every session of the user, e.g. after a password change or deactivation.
+     */
+    public void revokeAll(String username) {
+        redisTemplate.delete(key(username));
+    }
+    
+    private static String encode(long refreshExpiresAt, String accessToken, String refreshToken) {
+        return refreshExpiresAt + "|" + PrincipalCache.digest(accessToken) + "|" + PrincipalCache.digest(refreshToken);
+    }
+    
+    private static String key(String username) {
+        return KEY_PREFIX + username;
+    }
+}
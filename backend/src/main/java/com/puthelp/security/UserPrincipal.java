@@ -2,6 +2,7 @@ package com.puthelp.security;
 
 import com.puthelp.entity.Role;
 import com.puthelp.entity.User;
+import io.jsonwebtoken.Claims;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -44,6 +45,27 @@ public class UserPrincipal implements UserDetails {
         );
     }
     
+    /**
+     * Principal rebuilt from the claims of a verified stateless access token.
+     * Holds no password or email; only id, username and roles travel in the token.
+     */
+    public static UserPrincipal fromClaims(Claims claims) {
+        List<?> roles = claims.get(JwtUtils.ROLES_CLAIM, List.class);
+        List<GrantedAuthority> authorities = roles == null ? List.of() : roles.stream()
+                .map(role -> new SimpleGrantedAuthority(String.valueOf(role)))
+                .collect(Collectors.toList());
+        Number id = claims.get(JwtUtils.USER_ID_CLAIM, Number.class);
+        
+        return new UserPrincipal(
+                id != null ? id.longValue() : null,
+                claims.getSubject(),
+                null,
+                null,
+                authorities,
+                true
+        );
+    }
+    
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
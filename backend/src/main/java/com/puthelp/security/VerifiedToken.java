@@ -0,0 +1,44 @@
+package com.puthelp.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+/**
+ * A token whose signature and expiry have been checked, with its claims already parsed.
+ * Obtained from {@link JwtUtils#verify}, so each request parses its token once.
+ */
+public record VerifiedToken(Claims claims) {
+    
+    public String subject() {
+        return claims.getSubject();
+    }
+    
+    public String type() {
+        return claims.get("type", String.class);
+    }
+    
+    public String id() {
+        return claims.getId();
+    }
+    
+    public String sessionId() {
+        return claims.get(JwtUtils.SESSION_ID_CLAIM, String.class);
+    }
+    
+    public Date issuedAt() {
+        return claims.getIssuedAt();
+    }
+    
+    public Date expiresAt() {
+        return claims.getExpiration();
+    }
+    
+    public boolean isAccessToken() {
+        return "access".equals(type());
+    }
+    
+    public boolean isRefreshToken() {
+        return "refresh".equals(type());
+    }
+}
@@ -0,0 +1,233 @@
+package com.puthelp.service;
+
+import com.puthelp.cache.CacheInvalidationBus;
+import com.puthelp.cache.CacheInvalidationListener;
+import com.puthelp.cache.CacheRegion;
+import com.puthelp.dto.response.SystemStatsResponse;
+import com.puthelp.entity.Content;
+import com.puthelp.entity.Role;
+import com.puthelp.repository.CategoryRepository;
+import com.puthelp.repository.ContentRepository;
+import com.puthelp.repository.KierunekRepository;
+import com.puthelp.repository.UserRepository;
+import com.puthelp.util.TransactionUtils;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Admin dashboard totals. Counters are loaded with aggregate queries, then kept current
+ * by deltas from the content and user write paths, applied after commit. A periodic
+ * reconcile recounts everything, which also picks up writes made on other nodes.
+ */
+@Service
+public class AdminStatsService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AdminStatsService.class);
+    
+    @Autowired
+    private ContentRepository contentRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private KierunekRepository kierunekRepository;
+    
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+    
+    private volatile Counters counters;
+    private volatile boolean referenceCountsDirty = true;
+    
+    @PostConstruct
+    public void registerInvalidation() {
+        // Category and kierunek writes are rare; recount them on the next read
+        CacheInvalidationListener markDirty = new CacheInvalidationListener() {
+            @Override
+            public void onEvict(String key) {
+                referenceCountsDirty = true;
+            }
+            
+            @Override
+            public void onEvictAll() {
+                referenceCountsDirty = true;
+            }
+        };
+        cacheInvalidationBus.register(CacheRegion.CATEGORY, markDirty);
+        cacheInvalidationBus.register(CacheRegion.KIERUNEK, markDirty);
+    }
+    
+    public SystemStatsResponse getStats() {
+        Counters current = counters;
+        if (current == null) {
+            current = reconcile();
+        } else if (referenceCountsDirty) {
+            countReferences(current);
+        }
+        
+        SystemStatsResponse stats = new SystemStatsResponse();
+        stats.setTotalUsers(current.totalUsers.get());
+        stats.setActiveUsers(current.activeUsers.get());
+        stats.setUsersByRole(toMap(current.usersByRole));
+        stats.setContentByStatus(toMap(current.contentByStatus));
+        stats.setContentByType(toMap(current.contentByType));
+        stats.setTotalContent(current.contentByStatus.values().stream().mapToLong(AtomicLong::get).sum());
+        stats.setPublishedContent(current.contentByStatus.get(Content.ContentStatus.PUBLISHED).get());
+        stats.setDraftContent(current.contentByStatus.get(Content.ContentStatus.DRAFT).get());
+        stats.setTotalCategories(current.totalCategories.get());
+        stats.setActiveCategories(current.activeCategories.get());
+        stats.setTotalKieruneks(current.totalKieruneks.get());
+        stats.setActiveKieruneks(current.activeKieruneks.get());
+        stats.setReconciledAt(current.reconciledAt);
+        return stats;
+    }
+    
+    /**
+     * Records a content row moving from one (type, status) to another.
+     * Pass nulls for the old values on create and for the new values on delete.
+     */
+    public void contentChanged(Content.ContentType oldType, Content.ContentStatus oldStatus,
+                               Content.ContentType newType, Content.ContentStatus newStatus) {
+        TransactionUtils.afterCommit(() -> {
+            Counters current = counters;
+            if (current == null) {
+                return;
+            }
+            adjust(current.contentByType, oldType, -1);
+            adjust(current.contentByStatus, oldStatus, -1);
+            adjust(current.contentByType, newType, 1);
+            adjust(current.contentByStatus, newStatus, 1);
+        });
+    }
+    
+    /**
+     * Records a user's roles or active flag changing.
+     * Pass nulls for the old values on signup and for the new values on delete.
+     */
+    public void userChanged(Set<Role> oldRoles, Boolean oldActive, Set<Role> newRoles, Boolean newActive) {
+        // Resolve names now, while the role sets still hold what the caller saw
+        Set<Role.RoleName> removed = roleNames(oldRoles);
+        Set<Role.RoleName> added = roleNames(newRoles);
+        
+        TransactionUtils.afterCommit(() -> {
+            Counters current = counters;
+            if (current == null) {
+                return;
+            }
+            removed.forEach(role -> adjust(current.usersByRole, role, -1));
+            added.forEach(role -> adjust(current.usersByRole, role, 1));
+            
+            if (oldRoles == null && newRoles != null) {
+                current.totalUsers.incrementAndGet();
+            } else if (oldRoles != null && newRoles == null) {
+                current.totalUsers.decrementAndGet();
+            }
+            if (Boolean.TRUE.equals(oldActive)) {
+                current.activeUsers.decrementAndGet();
+            }
+            if (Boolean.TRUE.equals(newActive)) {
+                current.activeUsers.incrementAndGet();
+            }
+        });
+    }
+    
+    @Scheduled(fixedDelayString = "${admin.stats.reconcile-interval}",
+               initialDelayString = "${admin.stats.reconcile-interval}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+    
+    private Counters reconcile() {
+        Counters fresh = new Counters();
+        
+        for (Object[] row : contentRepository.countGroupedByStatusAndType()) {
+            long count = (Long) row[2];
+            adjust(fresh.contentByStatus, (Content.ContentStatus) row[0], count);
+            adjust(fresh.contentByType, (Content.ContentType) row[1], count);
+        }
+        
+        for (Object[] row : userRepository.countGroupedByActive()) {
+            long count = (Long) row[1];
+            fresh.totalUsers.addAndGet(count);
+            if (Boolean.TRUE.equals(row[0])) {
+                fresh.activeUsers.addAndGet(count);
+            }
+        }
+        
+        for (Object[] row : userRepository.countGroupedByRole()) {
+            adjust(fresh.usersByRole, (Role.RoleName) row[0], (Long) row[1]);
+        }
+        
+        countReferences(fresh);
+        
+        // A delta committed between the queries and this swap is lost until the next reconcile
+        counters = fresh;
+        logger.debug("Admin statistics reconciled");
+        return fresh;
+    }
+    
+    private void countReferences(Counters target) {
+        referenceCountsDirty = false;
+        target.totalCategories.set(categoryRepository.count());
+        target.activeCategories.set(categoryRepository.countByIsActiveTrue());
+        target.totalKieruneks.set(kierunekRepository.count());
+        target.activeKieruneks.set(kierunekRepository.countByIsActiveTrue());
+    }
+    
+    private static <K> void adjust(Map<K, AtomicLong> counts, K key, long delta) {
+        if (key != null) {
+            counts.get(key).addAndGet(delta);
+        }
+    }
+    
+    private static <K extends Enum<K>> Map<String, Long> toMap(Map<K, AtomicLong> counts) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        counts.forEach((key, count) -> result.put(key.name(), count.get()));
+        return result;
+    }
+    
+    private static Set<Role.RoleName> roleNames(Set<Role> roles) {
+        if (roles == null) {
+            return Collections.emptySet();
+        }
+        return roles.stream().map(Role::getName).collect(Collectors.toSet());
+    }
+    
+    // Every enum key is present from construction, so the maps are never structurally modified
+    private static final class Counters {
+        private final Map<Content.ContentStatus, AtomicLong> contentByStatus = filled(Content.ContentStatus.class);
+        private final Map<Content.ContentType, AtomicLong> contentByType = filled(Content.ContentType.class);
+        private final Map<Role.RoleName, AtomicLong> usersByRole = filled(Role.RoleName.class);
+        private final AtomicLong totalUsers = new AtomicLong();
+        private final AtomicLong activeUsers = new AtomicLong();
+        private final AtomicLong totalCategories = new AtomicLong();
+        private final AtomicLong activeCategories = new AtomicLong();
+        private final AtomicLong totalKieruneks = new AtomicLong();
+        private final AtomicLong activeKieruneks = new AtomicLong();
+        private final LocalDateTime reconciledAt = LocalDateTime.now();
+        
+        private static <K extends Enum<K>> Map<K, AtomicLong> filled(Class<K> keyType) {
+            Map<K, AtomicLong> counts = new EnumMap<>(keyType);
+            for (K key : keyType.getEnumConstants()) {
+                counts.put(key, new AtomicLong());
+            }
+            return counts;
+        }
+    }
+}
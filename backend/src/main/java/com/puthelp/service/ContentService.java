@@ -1,24 +1,50 @@
 package com.puthelp.service;
 
+import com.puthelp.cache.CacheInvalidationBus;
+import com.puthelp.cache.CacheRegion;
+import com.puthelp.cache.ContentCache;
+import com.puthelp.cache.ContentCountCache;
 import com.puthelp.dto.content.ContentDto;
+import com.puthelp.dto.content.ContentFilter;
+import com.puthelp.dto.content.FacetResponse;
+import com.puthelp.dto.content.TagCountDto;
+import com.puthelp.dto.content.ContentSummaryDto;
+import com.puthelp.dto.content.ContentVersion;
+import com.puthelp.dto.response.CursorPage;
 import com.puthelp.entity.Category;
 import com.puthelp.entity.Content;
 import com.puthelp.entity.Kierunek;
+import com.puthelp.entity.Tag;
 import com.puthelp.entity.User;
 import com.puthelp.repository.CategoryRepository;
+import com.puthelp.repository.ContentCursor;
 import com.puthelp.repository.ContentRepository;
+import com.puthelp.repository.ContentSortKey;
+import com.puthelp.repository.ContentSpecifications;
 import com.puthelp.repository.KierunekRepository;
 import com.puthelp.repository.UserRepository;
+import com.puthelp.search.FacetIndex;
+import com.puthelp.search.SearchBackend;
+import com.puthelp.search.SearchHits;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -37,6 +63,33 @@ public class ContentService {
     @Autowired
     private CategoryRepository categoryRepository;
     
+    @Autowired
+    private ContentCache contentCache;
+    
+    @Autowired
+    private ContentCountCache contentCountCache;
+    
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+    
+    @Autowired
+    private ViewCountService viewCountService;
+    
+    @Autowired
+    private AdminStatsService adminStatsService;
+    
+    @Autowired
+    private UniqueViewService uniqueViewService;
+    
+    @Autowired
+    private SearchBackend searchBackend;
+    
+    @Autowired
+    private FacetIndex facetIndex;
+    
+    @Autowired
+    private TagService tagService;
+    
     public ContentDto createContent(ContentDto contentDto, String authorUsername) {
         User author = userRepository.findByUsername(authorUsername)
                 .orElseThrow(() -> new RuntimeException("Author not found"));
@@ -49,6 +102,7 @@ public class ContentService {
         content.setStatus(Content.ContentStatus.DRAFT); // Always start as draft
         content.setAuthor(author);
         content.setTags(contentDto.getTags());
+        content.setTagSet(tagService.resolveTags(contentDto.getTags()));
         
         // Set kierunek if provided
         if (contentDto.getKierunekId() != null) {
@@ -65,11 +119,13 @@ public class ContentService {
         }
         
         Content savedContent = contentRepository.save(content);
+        cacheInvalidationBus.publishAfterCommit(CacheRegion.CONTENT, savedContent.getId());
+        adminStatsService.contentChanged(null, null, savedContent.getType(), savedContent.getStatus());
         return convertToDto(savedContent);
     }
     
     public ContentDto updateContent(Long id, ContentDto contentDto, String username) {
-        Content content = contentRepository.findById(id)
+        Content content = contentRepository.findDetailById(id)
                 .orElseThrow(() -> new RuntimeException("Content not found"));
         
         // Check if user can edit this content
@@ -77,11 +133,13 @@ public class ContentService {
             throw new RuntimeException("Access denied");
         }
         
+        Content.ContentType oldType = content.getType();
         content.setTitle(contentDto.getTitle());
         content.setBody(contentDto.getBody());
         content.setSummary(contentDto.getSummary());
         content.setType(contentDto.getType());
         content.setTags(contentDto.getTags());
+        content.setTagSet(tagService.resolveTags(contentDto.getTags()));
         
         // Update kierunek if provided
         if (contentDto.getKierunekId() != null) {
@@ -98,21 +156,26 @@ public class ContentService {
         }
         
         Content savedContent = contentRepository.save(content);
+        cacheInvalidationBus.publishAfterCommit(CacheRegion.CONTENT, id);
+        adminStatsService.contentChanged(oldType, content.getStatus(), savedContent.getType(), content.getStatus());
         return convertToDto(savedContent);
     }
     
     public ContentDto publishContent(Long id, String username) {
-        Content content = contentRepository.findById(id)
+        Content content = contentRepository.findDetailById(id)
                 .orElseThrow(() -> new RuntimeException("Content not found"));
         
         if (!canUserPublishContent(content, username)) {
             throw new RuntimeException("Access denied");
         }
         
+        Content.ContentStatus oldStatus = content.getStatus();
         content.setStatus(Content.ContentStatus.PUBLISHED);
         content.setPublishedAt(LocalDateTime.now());
         
         Content savedContent = contentRepository.save(content);
+        cacheInvalidationBus.publishAfterCommit(CacheRegion.CONTENT, id);
+        adminStatsService.contentChanged(content.getType(), oldStatus, content.getType(), Content.ContentStatus.PUBLISHED);
         return convertToDto(savedContent);
     }
     
@@ -125,69 +188,248 @@ public class ContentService {
         }
         
         contentRepository.delete(content);
+        cacheInvalidationBus.publishAfterCommit(CacheRegion.CONTENT, id);
+        adminStatsService.contentChanged(content.getType(), content.getStatus(), null, null);
     }
     
     public Optional<ContentDto> getContentById(Long id) {
-        return contentRepository.findById(id)
-                .map(this::convertToDto);
+        return contentRepository.findDetailById(id)
+                .map(this::convertToDetailDto);
     }
     
+    // No transaction of its own: a cache hit must not check out a database connection
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<ContentDto> getPublishedContentById(Long id) {
-        return contentRepository.findById(id)
-                .filter(content -> content.getStatus() == Content.ContentStatus.PUBLISHED)
-                .map(this::convertToDto);
+        return contentCache.get(id, key -> contentRepository
+                .findByIdAndStatus(key, Content.ContentStatus.PUBLISHED)
+                .map(this::convertToDetailDto));
     }
     
-    public ContentDto incrementViewCount(Long id) {
-        Content content = contentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Content not found"));
+    /**
+     * Last modification time of a published content, for conditional GETs.
+     * Answered from the content cache when the content is cached, otherwise by a three-column query.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<ContentVersion> getPublishedContentVersion(Long id) {
+        Optional<ContentDto> cached = contentCache.getIfPresent(id);
+        if (cached.isPresent()) {
+            ContentDto content = cached.get();
+            return Optional.of(new ContentVersion(content.getUpdatedAt(), content.getKierunekName(),
+                    content.getCategoryName()));
+        }
+        return contentRepository.findPublishedVersion(id);
+    }
+    
+    // Counters live in memory and Redis; a page view must not open a transaction or check out a connection
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void recordView(Long id, String visitor) {
+        viewCountService.recordView(id);
+        uniqueViewService.recordVisitor(id, visitor);
+    }
+    
+    public Page<ContentSummaryDto> getPublishedContent(Pageable pageable) {
+        return findPage("published", ContentSpecifications.published(), pageable);
+    }
+    
+    public Slice<ContentSummaryDto> getPublishedContentSlice(Pageable pageable) {
+        return findSlice(ContentSpecifications.published(), pageable);
+    }
+    
+    public Page<ContentSummaryDto> getContentByKierunek(Long kierunekId, Pageable pageable) {
+        return findPage("kierunek:" + kierunekId, publishedInKierunek(kierunekId), pageable);
+    }
+    
+    public Slice<ContentSummaryDto> getContentByKierunekSlice(Long kierunekId, Pageable pageable) {
+        return findSlice(publishedInKierunek(kierunekId), pageable);
+    }
+    
+    public Page<ContentSummaryDto> getContentByCategory(Long categoryId, Pageable pageable) {
+        return findPage("category:" + categoryId, publishedInCategory(categoryId), pageable);
+    }
+    
+    public Slice<ContentSummaryDto> getContentByCategorySlice(Long categoryId, Pageable pageable) {
+        return findSlice(publishedInCategory(categoryId), pageable);
+    }
+    
+    public Page<ContentSummaryDto> getContentByTag(String tag, Pageable pageable) {
+        return findPage("tag:" + Tag.normalize(tag), publishedWithTag(tag), pageable);
+    }
+    
+    public Slice<ContentSummaryDto> getContentByTagSlice(String tag, Pageable pageable) {
+        return findSlice(publishedWithTag(tag), pageable);
+    }
+    
+    public List<TagCountDto> getTagCloud(int limit) {
+        return tagService.getTagCloud(limit);
+    }
+    
+    public Page<ContentSummaryDto> searchContent(String query, boolean fuzzy, Pageable pageable) {
+        SearchHits hits = fuzzy
+                ? searchBackend.fuzzySearch(query, pageable)
+                : searchBackend.search(query, pageable);
         
-        content.setViewCount(content.getViewCount() + 1);
-        Content savedContent = contentRepository.save(content);
-        return convertToDto(savedContent);
+        // Restore the backend's relevance order
+        return new PageImpl<>(findPublishedSummariesInOrder(hits.contentIds()), pageable, hits.totalHits());
     }
     
-    public Page<ContentDto> getPublishedContent(Pageable pageable) {
-        Page<Content> contentPage = contentRepository.findByStatus(Content.ContentStatus.PUBLISHED, pageable);
-        List<ContentDto> contentDtos = contentPage.getContent().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
-        return new PageImpl<>(contentDtos, pageable, contentPage.getTotalElements());
+    @Transactional(readOnly = true)
+    public FacetResponse getFacets(Content.ContentType type, Long kierunekId, Long categoryId, String tag,
+                                   Pageable pageable) {
+        Map<String, String> selection = new HashMap<>();
+        selection.put(FacetIndex.TYPE, type != null ? type.name() : null);
+        selection.put(FacetIndex.KIERUNEK, kierunekId != null ? String.valueOf(kierunekId) : null);
+        selection.put(FacetIndex.CATEGORY, categoryId != null ? String.valueOf(categoryId) : null);
+        selection.put(FacetIndex.TAG, tag != null && !tag.isBlank() ? tag : null);
+        
+        // Matching and counting happen in memory; only the page of results is read from the database
+        FacetIndex.FacetResult result = facetIndex.query(selection, (int) pageable.getOffset(), pageable.getPageSize());
+        Page<ContentSummaryDto> results = new PageImpl<>(
+                findPublishedSummariesInOrder(result.ids()), pageable, result.total());
+        return new FacetResponse(results, result.facets());
     }
     
-    public Page<ContentDto> getContentByKierunek(Long kierunekId, Pageable pageable) {
-        Page<Content> contentPage = contentRepository.findByKierunekIdAndPublished(kierunekId, pageable);
-        List<ContentDto> contentDtos = contentPage.getContent().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
-        return new PageImpl<>(contentDtos, pageable, contentPage.getTotalElements());
+    public Page<ContentSummaryDto> getMyContent(String username, Pageable pageable) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        
+        return findPage("author:" + user.getId(), ContentSpecifications.hasAuthor(user.getId()), pageable);
     }
     
-    public Page<ContentDto> getContentByCategory(Long categoryId, Pageable pageable) {
-        Page<Content> contentPage = contentRepository.findByCategoryIdAndPublished(categoryId, pageable);
-        List<ContentDto> contentDtos = contentPage.getContent().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
-        return new PageImpl<>(contentDtos, pageable, contentPage.getTotalElements());
+    public Slice<ContentSummaryDto> getMyContentSlice(String username, Pageable pageable) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        
+        return findSlice(ContentSpecifications.hasAuthor(user.getId()), pageable);
     }
     
-    public Page<ContentDto> searchContent(String query, Pageable pageable) {
-        Page<Content> contentPage = contentRepository.searchPublishedContent(query, pageable);
-        List<ContentDto> contentDtos = contentPage.getContent().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
-        return new PageImpl<>(contentDtos, pageable, contentPage.getTotalElements());
+    public Page<ContentSummaryDto> queryContent(ContentFilter filter, Pageable pageable) {
+        return findPage(filter.toKey(), toSpecification(filter), pageable);
+    }
+    
+    public Slice<ContentSummaryDto> queryContentSlice(ContentFilter filter, Pageable pageable) {
+        return findSlice(toSpecification(filter), pageable);
+    }
+    
+    public CursorPage<ContentSummaryDto> queryContentAfter(ContentFilter filter, String sortBy, String sortDir,
+                                                           String after, int size) {
+        return findCursorPage(toSpecification(filter), sortBy, sortDir, after, size);
+    }
+    
+    public CursorPage<ContentSummaryDto> getPublishedContentAfter(String sortBy, String sortDir, String after, int size) {
+        return findCursorPage(ContentSpecifications.published(), sortBy, sortDir, after, size);
+    }
+    
+    public CursorPage<ContentSummaryDto> getContentByKierunekAfter(Long kierunekId, String sortBy, String sortDir,
+                                                            String after, int size) {
+        return findCursorPage(publishedInKierunek(kierunekId), sortBy, sortDir, after, size);
+    }
+    
+    public CursorPage<ContentSummaryDto> getContentByCategoryAfter(Long categoryId, String sortBy, String sortDir,
+                                                            String after, int size) {
+        return findCursorPage(publishedInCategory(categoryId), sortBy, sortDir, after, size);
     }
     
-    public Page<ContentDto> getMyContent(String username, Pageable pageable) {
+    public CursorPage<ContentSummaryDto> getContentByTagAfter(String tag, String sortBy, String sortDir,
+                                                       String after, int size) {
+        return findCursorPage(publishedWithTag(tag), sortBy, sortDir, after, size);
+    }
+    
+    public CursorPage<ContentSummaryDto> getMyContentAfter(String username, String sortBy, String sortDir,
+                                                    String after, int size) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
-        Page<Content> contentPage = contentRepository.findByAuthorId(user.getId(), pageable);
-        List<ContentDto> contentDtos = contentPage.getContent().stream()
-                .map(this::convertToDto)
+        // Drafts have no publishedAt, and NULLs cannot be compared in a keyset predicate.
+        // findCursorPage rejects a cursor whose sort differs from sortBy, so this covers cursors too
+        if (ContentSortKey.fromProperty(sortBy) == ContentSortKey.PUBLISHED_AT) {
+            throw new IllegalArgumentException("Sorting by publishedAt is not supported for own content");
+        }
+        return findCursorPage(ContentSpecifications.hasAuthor(user.getId()), sortBy, sortDir, after, size);
+    }
+    
+    // Loads summaries in one query and returns them in the order of the given ids
+    private List<ContentSummaryDto> findPublishedSummariesInOrder(List<Long> ids) {
+        Map<Long, ContentSummaryDto> summaryById = contentRepository.findSummariesByIds(ids).stream()
+                .collect(Collectors.toMap(ContentSummaryDto::id, Function.identity()));
+        return ids.stream()
+                .map(summaryById::get)
+                .filter(summary -> summary != null && summary.status() == Content.ContentStatus.PUBLISHED)
                 .collect(Collectors.toList());
-        return new PageImpl<>(contentDtos, pageable, contentPage.getTotalElements());
+    }
+    
+    private Specification<Content> toSpecification(ContentFilter filter) {
+        if (filter.getFrom() != null && filter.getTo() != null && filter.getFrom().isAfter(filter.getTo())) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        return ContentSpecifications.matching(filter);
+    }
+    
+    private Specification<Content> publishedInKierunek(Long kierunekId) {
+        return ContentSpecifications.published().and(ContentSpecifications.hasKierunek(kierunekId));
+    }
+    
+    private Specification<Content> publishedInCategory(Long categoryId) {
+        return ContentSpecifications.published().and(ContentSpecifications.hasCategory(categoryId));
+    }
+    
+    private Specification<Content> publishedWithTag(String tag) {
+        String name = Tag.normalize(tag);
+        if (name == null) {
+            throw new IllegalArgumentException("Tag must not be blank");
+        }
+        return ContentSpecifications.published().and(ContentSpecifications.hasTag(name));
+    }
+    
+    // Offset page whose total comes from the count cache. The count is skipped entirely
+    // when the page itself shows where the result ends (first page or a short last page)
+    private Page<ContentSummaryDto> findPage(String countKey, Specification<Content> filter, Pageable pageable) {
+        List<ContentSummaryDto> summaries = contentRepository.findSummaryWindow(
+                filter, pageable.getSort(), pageable.getOffset(), pageable.getPageSize());
+        return PageableExecutionUtils.getPage(summaries, pageable,
+                () -> contentCountCache.get(countKey, () -> contentRepository.count(filter)));
+    }
+    
+    // Count-free page: one extra row tells whether a next page exists
+    private Slice<ContentSummaryDto> findSlice(Specification<Content> filter, Pageable pageable) {
+        List<ContentSummaryDto> rows = contentRepository.findSummaryWindow(
+                filter, pageable.getSort(), pageable.getOffset(), pageable.getPageSize() + 1);
+        
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<ContentSummaryDto> summaries = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+        return new SliceImpl<>(summaries, pageable, hasNext);
+    }
+    
+    // Keyset pagination: seek past the (sort value, id) of the previous page's last row,
+    // so every page is an index range scan of size + 1 rows regardless of depth
+    private CursorPage<ContentSummaryDto> findCursorPage(Specification<Content> filter, String sortBy, String sortDir,
+                                                  String after, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        
+        ContentSortKey sortKey = ContentSortKey.fromProperty(sortBy);
+        Sort.Direction direction = sortDir.equalsIgnoreCase("asc") ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Specification<Content> specification = filter;
+        
+        if (after != null && !after.isBlank()) {
+            // A cursor is only valid for the ordering it was issued under, so a client cannot
+            // switch sorts mid-scroll or smuggle in a sort key the caller has ruled out
+            ContentCursor cursor = ContentCursor.decode(after);
+            if (cursor.sortKey() != sortKey || cursor.direction() != direction) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort");
+            }
+            specification = specification.and(ContentSpecifications.after(cursor));
+        }
+        
+        Sort sort = Sort.by(direction, sortKey.getProperty()).and(Sort.by(direction, "id"));
+        List<ContentSummaryDto> rows = contentRepository.findSummaryWindow(specification, sort, 0, size + 1);
+        
+        boolean hasNext = rows.size() > size;
+        List<ContentSummaryDto> summaries = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext
+                ? ContentCursor.after(summaries.get(summaries.size() - 1), sortKey, direction).encode()
+                : null;
+        return new CursorPage<>(summaries, size, nextCursor);
     }
     
     private boolean canUserEditContent(Content content, String username) {
@@ -215,6 +457,12 @@ public class ContentService {
                                 role.getName().name().equals("ADMIN"));
     }
     
+    private ContentDto convertToDetailDto(Content content) {
+        ContentDto dto = convertToDto(content);
+        dto.setUniqueViews(uniqueViewService.getUniqueViews(content.getId()));
+        return dto;
+    }
+    
     private ContentDto convertToDto(Content content) {
         ContentDto dto = new ContentDto();
         dto.setId(content.getId());
@@ -229,40 +477,20 @@ public class ContentService {
         dto.setUpdatedAt(content.getUpdatedAt());
         dto.setPublishedAt(content.getPublishedAt());
         
-        // Safely handle author information
-        try {
-            if (content.getAuthor() != null) {
-                dto.setAuthorId(content.getAuthor().getId());
-                dto.setAuthorUsername(content.getAuthor().getUsername());
-            }
-        } catch (Exception e) {
-            // Handle any lazy loading issues
-            dto.setAuthorId(null);
-            dto.setAuthorUsername("Unknown");
+        // Callers load associations up front (Content.detail graph), so none of this hits the database
+        if (content.getAuthor() != null) {
+            dto.setAuthorId(content.getAuthor().getId());
+            dto.setAuthorUsername(content.getAuthor().getUsername());
         }
         
-        // Safely handle kierunek information
-        try {
-            if (content.getKierunek() != null) {
-                dto.setKierunekId(content.getKierunek().getId());
-                dto.setKierunekName(content.getKierunek().getName());
-            }
-        } catch (Exception e) {
-            // Handle any lazy loading issues
-            dto.setKierunekId(null);
-            dto.setKierunekName(null);
+        if (content.getKierunek() != null) {
+            dto.setKierunekId(content.getKierunek().getId());
+            dto.setKierunekName(content.getKierunek().getName());
         }
         
-        // Safely handle category information
-        try {
-            if (content.getCategory() != null) {
-                dto.setCategoryId(content.getCategory().getId());
-                dto.setCategoryName(content.getCategory().getName());
-            }
-        } catch (Exception e) {
-            // Handle any lazy loading issues
-            dto.setCategoryId(null);
-            dto.setCategoryName(null);
+        if (content.getCategory() != null) {
+            dto.setCategoryId(content.getCategory().getId());
+            dto.setCategoryName(content.getCategory().getName());
         }
         
         return dto;
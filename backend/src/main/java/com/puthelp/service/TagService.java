@@ -0,0 +1,120 @@
+package com.puthelp.service;
+
+import com.puthelp.cache.CacheInvalidationBus;
+import com.puthelp.cache.CacheInvalidationListener;
+import com.puthelp.cache.CacheRegion;
+import com.puthelp.dto.content.TagCountDto;
+import com.puthelp.entity.Tag;
+import com.puthelp.repository.TagRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tag storage and the tag cloud.
+ *
+ * Content tags live in the tags table and the content_tags join table, so tag lookups are index
+ * lookups. The tag cloud is counted with one GROUP BY over the join table and kept as a snapshot
+ * that content changes refresh in the background, so requests never query the database.
+ */
+@Service
+public class TagService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TagService.class);
+    
+    @Autowired
+    private TagRepository tagRepository;
+    
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+    
+    @Value("${content.tag-cloud.max-tags}")
+    private int maxTags;
+    
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor();
+    
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+    
+    private volatile List<TagCountDto> tagCloud = List.of();
+    
+    @PostConstruct
+    public void registerInvalidation() {
+        cacheInvalidationBus.register(CacheRegion.CONTENT, new CacheInvalidationListener() {
+            @Override
+            public void onEvict(String key) {
+                queueRefresh();
+            }
+            
+            @Override
+            public void onEvictAll() {
+                queueRefresh();
+            }
+        });
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void computeOnStartup() {
+        queueRefresh();
+    }
+    
+    /**
+     * Maps a comma-separated tag list to tag rows, creating the missing ones.
+     */
+    @Transactional
+    public Set<Tag> resolveTags(String tags) {
+        Set<String> names = Tag.parse(tags);
+        if (names.isEmpty()) {
+            return new HashSet<>();
+        }
+        
+        Set<Tag> resolved = new HashSet<>(tagRepository.findByNameIn(names));
+        if (resolved.size() < names.size()) {
+            resolved.forEach(tag -> names.remove(tag.getName()));
+            names.forEach(tagRepository::insertIfAbsent);
+            resolved.addAll(tagRepository.findByNameIn(names));
+        }
+        return resolved;
+    }
+    
+    /**
+     * Most used tags on published content, most used first.
+     */
+    public List<TagCountDto> getTagCloud(int limit) {
+        List<TagCountDto> current = tagCloud;
+        return current.subList(0, Math.min(Math.max(limit, 0), current.size()));
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+    
+    private void queueRefresh() {
+        // Bursts of content writes collapse into one recount
+        if (refreshQueued.compareAndSet(false, true)) {
+            refreshExecutor.execute(() -> {
+                refreshQueued.set(false);
+                try {
+                    tagCloud = List.copyOf(tagRepository.countPublishedByTag(PageRequest.of(0, maxTags)));
+                } catch (Exception e) {
+                    logger.error("Tag cloud refresh failed: {}", e.getMessage());
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.puthelp.service;
+
+import com.puthelp.cache.CacheInvalidationBus;
+import com.puthelp.cache.CacheInvalidationListener;
+import com.puthelp.cache.CacheRegion;
+import com.puthelp.dto.content.ContentSummaryDto;
+import com.puthelp.entity.Content;
+import com.puthelp.repository.ContentRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Weights;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Trending feed ranked by time-decayed views.
+ *
+ * Flushed view deltas are added to hourly Redis sorted sets, trending:{yyyyMMddHH}, shared by
+ * all nodes. A background job merges the buckets of the window with ZUNIONSTORE, weighting each
+ * bucket by 2^(-age / half-life), and swaps in an immutable snapshot of the top summaries.
+ * Requests only slice that snapshot and never touch the database or Redis. Every snapshot is
+ * built on the single refresh thread, so refreshes never overwrite each other out of order.
+ */
+@Service
+public class TrendingService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TrendingService.class);
+    
+    private static final String BUCKET_PREFIX = "trending:";
+    
+    private static final String SCORES_KEY = "trending_scores";
+    
+    private static final DateTimeFormatter BUCKET_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHH");
+    
+    @Autowired
+    private RedisTemplate<String, String> redisTemplate;
+    
+    @Autowired
+    private ContentRepository contentRepository;
+    
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+    
+    @Value("${content.trending.half-life-hours}")
+    private double halfLifeHours;
+    
+    @Value("${content.trending.window-hours}")
+    private int windowHours;
+    
+    @Value("${content.trending.max-items}")
+    private int maxItems;
+    
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor();
+    
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+    
+    private final AtomicBoolean rerankQueued = new AtomicBoolean();
+    
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    
+    @PostConstruct
+    public void registerInvalidation() {
+        // Edited, unpublished or deleted content must not linger in the feed until the next recompute
+        cacheInvalidationBus.register(CacheRegion.CONTENT, new CacheInvalidationListener() {
+            @Override
+            public void onEvict(String key) {
+                if (snapshot.rankedIds().contains(Long.valueOf(key))) {
+                    queueRefresh(false);
+                }
+            }
+            
+            @Override
+            public void onEvictAll() {
+                queueRefresh(false);
+            }
+        });
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void computeOnStartup() {
+        queueRefresh(true);
+    }
+    
+    public Page<ContentSummaryDto> getTrending(Pageable pageable) {
+        List<ContentSummaryDto> items = snapshot.items();
+        int from = (int) Math.min(pageable.getOffset(), items.size());
+        int to = Math.min(from + pageable.getPageSize(), items.size());
+        return new PageImpl<>(items.subList(from, to), pageable, items.size());
+    }
+    
+    /**
+     * Adds flushed view deltas to the current hour's bucket.
+     * @param deltas views per content id since the last flush
+     */
+    public void recordViews(Map<Long, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        
+        String bucketKey = bucketKey(LocalDateTime.now());
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    deltas.forEach((contentId, views) ->
+                            ops.opsForZSet().incrementScore(bucketKey, String.valueOf(contentId), views));
+                    ops.expire(bucketKey, windowHours + 1L, TimeUnit.HOURS);
+                    return null;
+                }
+            });
+        } catch (DataAccessException e) {
+            // A lost batch only makes the ranking slightly less precise
+            logger.warn("Cannot record trending views: {}", e.getMessage());
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${content.trending.recompute-interval}",
+               initialDelayString = "${content.trending.recompute-interval}")
+    public void recompute() {
+        queueRefresh(true);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+    
+    private void rerank() {
+        List<Long> rankedIds;
+        try {
+            rankedIds = rankByDecayedViews();
+        } catch (DataAccessException e) {
+            logger.warn("Cannot recompute trending feed, keeping previous snapshot: {}", e.getMessage());
+            return;
+        }
+        snapshot = load(rankedIds);
+        logger.debug("Trending feed recomputed with {} items", snapshot.items().size());
+    }
+    
+    private List<Long> rankByDecayedViews() {
+        LocalDateTime now = LocalDateTime.now();
+        String currentKey = bucketKey(now);
+        List<String> olderKeys = new ArrayList<>(windowHours - 1);
+        double[] weights = new double[windowHours];
+        weights[0] = 1.0;
+        
+        for (int age = 1; age < windowHours; age++) {
+            olderKeys.add(bucketKey(now.minusHours(age)));
+            weights[age] = Math.pow(2.0, -age / halfLifeHours);
+        }
+        
+        redisTemplate.opsForZSet().unionAndStore(currentKey, olderKeys, SCORES_KEY, Aggregate.SUM, Weights.of(weights));
+        Set<ZSetOperations.TypedTuple<String>> top =
+                redisTemplate.opsForZSet().reverseRangeWithScores(SCORES_KEY, 0, maxItems - 1);
+        if (top == null) {
+            return List.of();
+        }
+        
+        return top.stream()
+                .map(tuple -> Long.valueOf(tuple.getValue()))
+                .collect(Collectors.toList());
+    }
+    
+    private Snapshot load(List<Long> rankedIds) {
+        Map<Long, ContentSummaryDto> summaryById = contentRepository.findSummariesByIds(rankedIds).stream()
+                .filter(summary -> summary.status() == Content.ContentStatus.PUBLISHED)
+                .collect(Collectors.toMap(ContentSummaryDto::id, Function.identity()));
+        
+        List<ContentSummaryDto> items = rankedIds.stream()
+                .map(summaryById::get)
+                .filter(summary -> summary != null)
+                .collect(Collectors.toUnmodifiableList());
+        return new Snapshot(List.copyOf(rankedIds), items);
+    }
+    
+    private void queueRefresh(boolean rerank) {
+        // Requests arriving while a refresh is pending collapse into that refresh; a rerank
+        // request is kept even when it collapses into a reload
+        if (rerank) {
+            rerankQueued.set(true);
+        }
+        if (refreshQueued.compareAndSet(false, true)) {
+            refreshExecutor.execute(() -> {
+                refreshQueued.set(false);
+                try {
+                    if (rerankQueued.getAndSet(false)) {
+                        rerank();
+                    } else {
+                        snapshot = load(snapshot.rankedIds());
+                    }
+                } catch (Exception e) {
+                    logger.error("Trending feed refresh failed: {}", e.getMessage());
+                }
+            });
+        }
+    }
+    
+    private String bucketKey(LocalDateTime time) {
+        return BUCKET_PREFIX + time.truncatedTo(ChronoUnit.HOURS).format(BUCKET_FORMAT);
+    }
+    
+    private record Snapshot(List<Long> rankedIds, List<ContentSummaryDto> items) {
+        static final Snapshot EMPTY = new Snapshot(List.of(), List.of());
+    }
+}
@@ -0,0 +1,169 @@
+package com.puthelp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Estimates unique visitors per content with Redis HyperLogLogs.
+ *
+ * Visitors are hashed before they leave the node and added in pipelined batches to a
+ * per-day key, unique_views:{id}:{yyyyMMdd}. A nightly rollup merges finished days into
+ * unique_views:{id}:total and deletes them, so each content keeps at most a few
+ * HyperLogLogs (about 12 KB each) no matter how much traffic it gets. All nodes write
+ * the same keys, so counts are merged across nodes by Redis.
+ */
+@Service
+public class UniqueViewService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(UniqueViewService.class);
+    
+    private static final String KEY_PREFIX = "unique_views:";
+    
+    private static final String DAY_INDEX_PREFIX = "unique_views_day:";
+    
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+    
+    // Days not yet rolled up are kept for catch-up after missed rollups
+    private static final int DAY_KEY_TTL_DAYS = 3;
+    
+    @Autowired
+    private RedisTemplate<String, String> redisTemplate;
+    
+    // Swapped out whole by each flush, so nothing recorded during a flush is drained and dropped
+    private final AtomicReference<ConcurrentHashMap<Long, Set<String>>> pendingVisitors =
+            new AtomicReference<>(new ConcurrentHashMap<>());
+    
+    public void recordVisitor(Long contentId, String visitor) {
+        String hashed = hash(visitor);
+        ConcurrentHashMap<Long, Set<String>> pending;
+        do {
+            pending = pendingVisitors.get();
+            pending.computeIfAbsent(contentId, id -> ConcurrentHashMap.newKeySet()).add(hashed);
+            
+            // A flush may have taken the map before the add landed; adding to the next one too
+            // is harmless, since a HyperLogLog counts a visitor once
+        } while (pending != pendingVisitors.get());
+    }
+    
+    public Long getUniqueViews(Long contentId) {
+        LocalDate today = LocalDate.now();
+        try {
+            // PFCOUNT over several keys returns the cardinality of their union
+            return redisTemplate.opsForHyperLogLog().size(
+                    totalKey(contentId),
+                    dayKey(contentId, today),
+                    dayKey(contentId, today.minusDays(1)),
+                    dayKey(contentId, today.minusDays(2)));
+        } catch (DataAccessException e) {
+            logger.warn("Cannot read unique views of content {}: {}", contentId, e.getMessage());
+            return null;
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${content.views.flush-interval}")
+    public void flush() {
+        Map<Long, String[]> batch = new HashMap<>();
+        pendingVisitors.getAndSet(new ConcurrentHashMap<>()).forEach((contentId, visitors) -> {
+            if (!visitors.isEmpty()) {
+                batch.put(contentId, visitors.toArray(new String[0]));
+            }
+        });
+        
+        if (batch.isEmpty()) {
+            return;
+        }
+        
+        LocalDate today = LocalDate.now();
+        String dayIndexKey = DAY_INDEX_PREFIX + today.format(DAY_FORMAT);
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    batch.forEach((contentId, visitors) -> {
+                        String key = dayKey(contentId, today);
+                        ops.opsForHyperLogLog().add(key, visitors);
+                        ops.expire(key, DAY_KEY_TTL_DAYS, TimeUnit.DAYS);
+                        ops.opsForSet().add(dayIndexKey, String.valueOf(contentId));
+                    });
+                    ops.expire(dayIndexKey, DAY_KEY_TTL_DAYS, TimeUnit.DAYS);
+                    return null;
+                }
+            });
+        } catch (DataAccessException e) {
+            // Estimates tolerate losing a batch; re-queueing would only grow memory while Redis is down
+            logger.warn("Cannot flush unique visitors: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Merges finished days into the per-content total. Safe to run on every node at once,
+     * since PFMERGE is idempotent.
+     */
+    @Scheduled(cron = "${content.unique-views.rollup-cron}")
+    public void rollup() {
+        LocalDate today = LocalDate.now();
+        for (int daysAgo = DAY_KEY_TTL_DAYS - 1; daysAgo >= 1; daysAgo--) {
+            LocalDate day = today.minusDays(daysAgo);
+            String dayIndexKey = DAY_INDEX_PREFIX + day.format(DAY_FORMAT);
+            try {
+                Set<String> contentIds = redisTemplate.opsForSet().members(dayIndexKey);
+                if (contentIds == null || contentIds.isEmpty()) {
+                    continue;
+                }
+                
+                for (String contentId : contentIds) {
+                    Long id = Long.valueOf(contentId);
+                    String key = dayKey(id, day);
+                    redisTemplate.opsForHyperLogLog().union(totalKey(id), key);
+                    redisTemplate.delete(key);
+                }
+                redisTemplate.delete(dayIndexKey);
+                logger.info("Rolled up unique views of {} contents for {}", contentIds.size(), day);
+            } catch (DataAccessException e) {
+                logger.warn("Cannot roll up unique views for {}: {}", day, e.getMessage());
+            }
+        }
+    }
+    
+    private String dayKey(Long contentId, LocalDate day) {
+        return KEY_PREFIX + contentId + ":" + day.format(DAY_FORMAT);
+    }
+    
+    private String totalKey(Long contentId) {
+        return KEY_PREFIX + contentId + ":total";
+    }
+    
+    private String hash(String visitor) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(visitor.getBytes(StandardCharsets.UTF_8));
+            
+            // 128 bits are plenty for HyperLogLog and keep raw IPs out of Redis
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Visitor hashing failed", e);
+        }
+    }
+}
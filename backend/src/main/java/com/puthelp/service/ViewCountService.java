@@ -0,0 +1,103 @@
+package com.puthelp.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind view counter. Page views are counted in memory in striped counters
+ * and periodically added to contents.view_count with a single multi-row UPDATE,
+ * so reading content never writes to the database.
+ */
+@Service
+public class ViewCountService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ViewCountService.class);
+    
+    private static final int MAX_ROWS_PER_UPDATE = 500;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private TrendingService trendingService;
+    
+    private final ConcurrentHashMap<Long, LongAdder> pendingViews = new ConcurrentHashMap<>();
+    
+    public void recordView(Long contentId) {
+        pendingViews.computeIfAbsent(contentId, id -> new LongAdder()).increment();
+    }
+    
+    @Scheduled(fixedDelayString = "${content.views.flush-interval}")
+    public void flush() {
+        // Counters stay in the map so concurrent increments are never lost between drain and removal
+        Map<Long, Long> deltas = new LinkedHashMap<>();
+        pendingViews.forEach((contentId, counter) -> {
+            long views = counter.sumThenReset();
+            if (views > 0) {
+                deltas.put(contentId, views);
+            }
+        });
+        
+        if (deltas.isEmpty()) {
+            return;
+        }
+        
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(deltas.entrySet());
+        for (int from = 0; from < entries.size(); from += MAX_ROWS_PER_UPDATE) {
+            List<Map.Entry<Long, Long>> chunk = entries.subList(from, Math.min(from + MAX_ROWS_PER_UPDATE, entries.size()));
+            try {
+                writeDeltas(chunk);
+            } catch (Exception e) {
+                logger.error("Cannot flush view counts, retrying on next flush: {}", e.getMessage());
+                chunk.forEach(entry -> pendingViews.computeIfAbsent(entry.getKey(), id -> new LongAdder())
+                        .add(entry.getValue()));
+                continue;
+            }
+            
+            // The UPDATE has committed, so a failure here must not re-queue the chunk and count it twice
+            try {
+                trendingService.recordViews(toMap(chunk));
+            } catch (Exception e) {
+                logger.warn("Cannot record views for trending: {}", e.getMessage());
+            }
+        }
+    }
+    
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+    
+    private Map<Long, Long> toMap(List<Map.Entry<Long, Long>> chunk) {
+        Map<Long, Long> deltas = new LinkedHashMap<>();
+        chunk.forEach(entry -> deltas.put(entry.getKey(), entry.getValue()));
+        return deltas;
+    }
+    
+    private void writeDeltas(List<Map.Entry<Long, Long>> chunk) {
+        StringBuilder sql = new StringBuilder(
+                "UPDATE contents AS c SET view_count = c.view_count + v.delta FROM (VALUES ");
+        Object[] args = new Object[chunk.size() * 2];
+        
+        for (int i = 0; i < chunk.size(); i++) {
+            sql.append(i == 0 ? "(?, ?)" : ", (?, ?)");
+            args[2 * i] = chunk.get(i).getKey();
+            args[2 * i + 1] = chunk.get(i).getValue();
+        }
+        
+        sql.append(") AS v(id, delta) WHERE c.id = v.id");
+        jdbcTemplate.update(sql.toString(), args);
+    }
+}
@@ -0,0 +1,71 @@
+package com.puthelp.util;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+
+public final class HttpCaching {
+    
+    private HttpCaching() {}
+    
+    /**
+     * Builds a strong entity tag from the parts that identify one version of a resource.
+     * @param parts resource name and version components
+     * @return the quoted tag, e.g. "content-42-1700000000000"
+     */
+    public static String etag(Object... parts) {
+        StringBuilder tag = new StringBuilder("\"");
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                tag.append('-');
+            }
+            tag.append(parts[i]);
+        }
+        return tag.append('"').toString();
+    }
+    
+    /**
+     * Builds a weak entity tag, for bodies that also carry values the tag does not cover.
+     * @param parts resource name and version components
+     * @return the weak tag, e.g. W/"content-42-1700000000000"
+     */
+    public static String weakEtag(Object... parts) {
+        return "W/" + etag(parts);
+    }
+    
+    /**
+     * Short hex digest of a serialized body, for tags that change exactly when the bytes do.
+     */
+    public static String hash(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+    
+    public static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+    
+    /**
+     * Sets the validators and Cache-Control: no-cache on the response, then checks them against
+     * If-None-Match and If-Modified-Since. When this returns true the 304 is already prepared and
+     * the handler should return null without loading or serializing anything.
+     * @param lastModified epoch millis, or a negative value when the resource has no modification date
+     */
+    public static boolean notModified(ServletWebRequest request, String etag, long lastModified) {
+        // Clients may keep the response but must revalidate before every reuse
+        if (request.getResponse() != null) {
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        }
+        return request.checkNotModified(etag, lastModified);
+    }
+}
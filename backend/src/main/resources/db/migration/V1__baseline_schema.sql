@@ -0,0 +1,60 @@
+-- Tables as mapped by the JPA entities. Databases that predate the migrations are
+-- baselined at this version (spring.flyway.baseline-on-migrate), so this script only
+-- runs against an empty schema.
+
+CREATE TABLE roles (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(50) NOT NULL UNIQUE CHECK (name IN ('STUDENT', 'MODERATOR', 'ADMIN')),
+    description VARCHAR(255)
+);
+
+CREATE TABLE kieruneks (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(100) NOT NULL UNIQUE,
+    description VARCHAR(500),
+    code        VARCHAR(10) NOT NULL,
+    is_active   BOOLEAN
+);
+
+CREATE TABLE categories (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(100) NOT NULL UNIQUE,
+    description VARCHAR(500),
+    is_active   BOOLEAN
+);
+
+CREATE TABLE users (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username    VARCHAR(50) NOT NULL UNIQUE,
+    email       VARCHAR(100) NOT NULL UNIQUE,
+    password    VARCHAR(255) NOT NULL,
+    first_name  VARCHAR(100),
+    last_name   VARCHAR(100),
+    is_active   BOOLEAN,
+    kierunek_id BIGINT REFERENCES kieruneks (id),
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6)
+);
+
+CREATE TABLE user_roles (
+    user_id BIGINT NOT NULL REFERENCES users (id),
+    role_id BIGINT NOT NULL REFERENCES roles (id),
+    PRIMARY KEY (user_id, role_id)
+);
+
+CREATE TABLE contents (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title        VARCHAR(200) NOT NULL,
+    body         TEXT NOT NULL,
+    summary      VARCHAR(500),
+    type         VARCHAR(255) CHECK (type IN ('GUIDE', 'TUTORIAL', 'FAQ', 'NEWS', 'ANNOUNCEMENT')),
+    status       VARCHAR(255) CHECK (status IN ('DRAFT', 'PUBLISHED', 'ARCHIVED')),
+    author_id    BIGINT NOT NULL REFERENCES users (id),
+    kierunek_id  BIGINT REFERENCES kieruneks (id),
+    category_id  BIGINT REFERENCES categories (id),
+    tags         VARCHAR(500),
+    view_count   BIGINT,
+    created_at   TIMESTAMP(6),
+    updated_at   TIMESTAMP(6),
+    published_at TIMESTAMP(6)
+);
@@ -0,0 +1,51 @@
+-- Search columns and the index set behind the repository queries. Every statement is
+-- idempotent because databases baselined at V1 may already have some of these objects.
+
+-- Weighted full-text document, kept up to date by PostgreSQL on every write
+ALTER TABLE contents ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(tags, '')), 'B') ||
+    setweight(to_tsvector('simple', coalesce(summary, '')), 'C') ||
+    setweight(to_tsvector('simple', coalesce(body, '')), 'D')) STORED;
+CREATE INDEX IF NOT EXISTS idx_contents_search_vector ON contents USING GIN (search_vector)
+    WHERE status = 'PUBLISHED';
+
+-- Trigram indexes for typo-tolerant search on titles and tags
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_contents_title_trgm ON contents USING GIN (title gin_trgm_ops)
+    WHERE status = 'PUBLISHED';
+CREATE INDEX IF NOT EXISTS idx_contents_tags_trgm ON contents USING GIN (tags gin_trgm_ops)
+    WHERE status = 'PUBLISHED';
+
+-- Listings by status (findByStatus, search indexing, admin views), newest first
+CREATE INDEX IF NOT EXISTS idx_contents_status_created ON contents (status, created_at, id);
+
+-- Keyset pagination: one (sort key, id) index per whitelisted cursor sort key
+CREATE INDEX IF NOT EXISTS idx_contents_published_created ON contents (created_at, id)
+    WHERE status = 'PUBLISHED';
+CREATE INDEX IF NOT EXISTS idx_contents_published_published_at ON contents (published_at, id)
+    WHERE status = 'PUBLISHED';
+CREATE INDEX IF NOT EXISTS idx_contents_published_views ON contents (view_count, id)
+    WHERE status = 'PUBLISHED';
+CREATE INDEX IF NOT EXISTS idx_contents_published_title ON contents (title, id)
+    WHERE status = 'PUBLISHED';
+CREATE INDEX IF NOT EXISTS idx_contents_kierunek_created ON contents (kierunek_id, created_at, id)
+    WHERE status = 'PUBLISHED';
+CREATE INDEX IF NOT EXISTS idx_contents_category_created ON contents (category_id, created_at, id)
+    WHERE status = 'PUBLISHED';
+CREATE INDEX IF NOT EXISTS idx_contents_author_created ON contents (author_id, created_at, id);
+
+-- Filtered listings (/content/public/query): equality columns first, then the default sort
+CREATE INDEX IF NOT EXISTS idx_contents_type_created ON contents (type, created_at, id)
+    WHERE status = 'PUBLISHED';
+CREATE INDEX IF NOT EXISTS idx_contents_kierunek_category_created
+    ON contents (kierunek_id, category_id, created_at, id) WHERE status = 'PUBLISHED';
+CREATE INDEX IF NOT EXISTS idx_contents_kierunek_type_created
+    ON contents (kierunek_id, type, created_at, id) WHERE status = 'PUBLISHED';
+
+-- Foreign keys checked when a kierunek, category or role is deleted or counted.
+-- users.username and users.email are already indexed by their unique constraints.
+CREATE INDEX IF NOT EXISTS idx_contents_kierunek ON contents (kierunek_id);
+CREATE INDEX IF NOT EXISTS idx_contents_category ON contents (category_id);
+CREATE INDEX IF NOT EXISTS idx_users_kierunek ON users (kierunek_id);
+CREATE INDEX IF NOT EXISTS idx_user_roles_role ON user_roles (role_id);
@@ -0,0 +1,31 @@
+-- Normalized tags (Tag entity and Content.tagSet). Databases baselined at V1 may already
+-- have these tables from ddl-auto, so creation is conditional.
+
+CREATE TABLE IF NOT EXISTS tags (
+    id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(500) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS content_tags (
+    content_id BIGINT NOT NULL REFERENCES contents (id),
+    tag_id     BIGINT NOT NULL REFERENCES tags (id),
+    PRIMARY KEY (content_id, tag_id)
+);
+
+-- Tag lookups go from tag to contents; the primary key covers (content_id, tag_id)
+CREATE INDEX IF NOT EXISTS idx_content_tags_tag ON content_tags (tag_id, content_id);
+
+-- Convert the comma-separated column, normalized like Tag.normalize (trimmed, lower-cased)
+INSERT INTO tags (name)
+SELECT DISTINCT lower(trim(t.name))
+FROM contents c
+CROSS JOIN LATERAL unnest(string_to_array(c.tags, ',')) AS t(name)
+WHERE trim(t.name) <> ''
+ON CONFLICT (name) DO NOTHING;
+
+INSERT INTO content_tags (content_id, tag_id)
+SELECT DISTINCT c.id, tg.id
+FROM contents c
+CROSS JOIN LATERAL unnest(string_to_array(c.tags, ',')) AS t(name)
+JOIN tags tg ON tg.name = lower(trim(t.name))
+ON CONFLICT DO NOTHING;
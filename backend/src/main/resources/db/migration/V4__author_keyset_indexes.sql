@@ -0,0 +1,5 @@
+-- Keyset pagination of an author's own content (/content/my) for the remaining cursor sort
+-- keys; created_at is covered by idx_contents_author_created and publishedAt is not allowed
+-- there because drafts have none.
+CREATE INDEX IF NOT EXISTS idx_contents_author_views ON contents (author_id, view_count, id);
+CREATE INDEX IF NOT EXISTS idx_contents_author_title ON contents (author_id, title, id);
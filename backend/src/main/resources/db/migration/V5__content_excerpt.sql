@@ -0,0 +1,4 @@
+-- Start of the body for list previews, so listings never read the TOASTed body column.
+-- Written by the application on every save; existing rows are backfilled once here.
+ALTER TABLE contents ADD COLUMN IF NOT EXISTS excerpt VARCHAR(300);
+UPDATE contents SET excerpt = left(body, 300) WHERE excerpt IS NULL AND body IS NOT NULL;
@@ -0,0 +1,14 @@
+-- Keyset pagination of the kierunek and category listings for the remaining cursor sort keys;
+-- created_at is covered by idx_contents_kierunek_created and idx_contents_category_created.
+CREATE INDEX IF NOT EXISTS idx_contents_kierunek_published_at ON contents (kierunek_id, published_at, id)
+    WHERE status = 'PUBLISHED';
+CREATE INDEX IF NOT EXISTS idx_contents_kierunek_views ON contents (kierunek_id, view_count, id)
+    WHERE status = 'PUBLISHED';
+CREATE INDEX IF NOT EXISTS idx_contents_kierunek_title ON contents (kierunek_id, title, id)
+    WHERE status = 'PUBLISHED';
+CREATE INDEX IF NOT EXISTS idx_contents_category_published_at ON contents (category_id, published_at, id)
+    WHERE status = 'PUBLISHED';
+CREATE INDEX IF NOT EXISTS idx_contents_category_views ON contents (category_id, view_count, id)
+    WHERE status = 'PUBLISHED';
+CREATE INDEX IF NOT EXISTS idx_contents_category_title ON contents (category_id, title, id)
+    WHERE status = 'PUBLISHED';
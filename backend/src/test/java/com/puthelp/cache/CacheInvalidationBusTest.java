@@ -0,0 +1,142 @@
+package com.puthelp.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationBusTest {
+    
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+    
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+    
+    @InjectMocks
+    private CacheInvalidationBus bus;
+    
+    private CacheInvalidationListener listener;
+    
+    @BeforeEach
+    void setUp() {
+        listener = mock(CacheInvalidationListener.class);
+        bus.register(CacheRegion.CONTENT, listener);
+    }
+    
+    @Test
+    void messagesInOrderEvictOnlyTheirKeys() {
+        graceMillis(60000);
+        
+        receive(1, "41");
+        receive(2, "42");
+        bus.evictUnfilledGaps();
+        
+        verify(listener).onEvict("41");
+        verify(listener).onEvict("42");
+        verify(listener, never()).onEvictAll();
+        assertEquals(2, bus.getGeneration(CacheRegion.CONTENT));
+    }
+    
+    @Test
+    void gapFilledByALateMessageIsForgotten() {
+        // Zero grace: any gap still open at the next check counts as lost
+        graceMillis(0);
+        
+        receive(1, "41");
+        receive(3, "43");
+        receive(2, "42");
+        bus.evictUnfilledGaps();
+        
+        verify(listener).onEvict("42");
+        verify(listener, never()).onEvictAll();
+    }
+    
+    @Test
+    void gapOpenPastTheGraceWindowEvictsTheRegionOnce() {
+        graceMillis(0);
+        
+        receive(1, "41");
+        receive(3, "43");
+        bus.evictUnfilledGaps();
+        bus.evictUnfilledGaps();
+        
+        verify(listener).onEvict("43");
+        verify(listener, times(1)).onEvictAll();
+    }
+    
+    @Test
+    void gapTooWideToTrackEvictsTheRegionAtOnce() {
+        graceMillis(60000);
+        
+        receive(100, "100");
+        
+        verify(listener).onEvictAll();
+        verify(listener, never()).onEvict("100");
+        assertEquals(100, bus.getGeneration(CacheRegion.CONTENT));
+    }
+    
+    @Test
+    void reconcileOpensGapsForGenerationsNeverReceived() {
+        graceMillis(0);
+        redisGeneration(3);
+        
+        bus.reconcile();
+        bus.evictUnfilledGaps();
+        
+        // The missed generations are covered by the eviction and must not be reported again
+        bus.reconcile();
+        bus.evictUnfilledGaps();
+        
+        verify(listener, times(1)).onEvictAll();
+        assertEquals(3, bus.getGeneration(CacheRegion.CONTENT));
+    }
+    
+    @Test
+    void messagesArrivingAfterReconcileFillItsGaps() {
+        graceMillis(0);
+        redisGeneration(2);
+        
+        bus.reconcile();
+        receive(1, "41");
+        receive(2, "42");
+        bus.evictUnfilledGaps();
+        
+        verify(listener).onEvict("41");
+        verify(listener).onEvict("42");
+        verify(listener, never()).onEvictAll();
+    }
+    
+    private void graceMillis(long grace) {
+        ReflectionTestUtils.setField(bus, "gapGrace", grace);
+    }
+    
+    private void redisGeneration(long generation) {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(anyString())).thenAnswer(invocation ->
+                "cache_generation:content".equals(invocation.getArgument(0)) ? String.valueOf(generation) : null);
+    }
+    
+    private void receive(long generation, String key) {
+        String body = "CONTENT|" + generation + "|other-node|" + key;
+        bus.onMessage(new DefaultMessage(CacheInvalidationBus.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8)), null);
+    }
+}
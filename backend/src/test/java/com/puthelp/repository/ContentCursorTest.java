@@ -0,0 +1,56 @@
+package com.puthelp.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ContentCursorTest {
+    
+    @Test
+    void roundTripsEverySortKey() {
+        assertRoundTrip(new ContentCursor(ContentSortKey.CREATED_AT, Sort.Direction.DESC,
+                LocalDateTime.of(2024, 3, 1, 12, 30, 15), 42L));
+        assertRoundTrip(new ContentCursor(ContentSortKey.PUBLISHED_AT, Sort.Direction.ASC,
+                LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123000000), 7L));
+        assertRoundTrip(new ContentCursor(ContentSortKey.VIEW_COUNT, Sort.Direction.DESC, 1500L, 3L));
+    }
+    
+    @Test
+    void titleMayContainTheSeparator() {
+        assertRoundTrip(new ContentCursor(ContentSortKey.TITLE, Sort.Direction.ASC, "Analiza | Zadania|2", 9L));
+    }
+    
+    @Test
+    void rejectsTokensThatAreNotBase64() {
+        assertInvalid("not a cursor!");
+    }
+    
+    @Test
+    void rejectsTamperedTokens() {
+        assertInvalid(encode("UNKNOWN_KEY|DESC|1|x"));
+        assertInvalid(encode("VIEW_COUNT|SIDEWAYS|1|5"));
+        assertInvalid(encode("VIEW_COUNT|DESC|one|5"));
+        assertInvalid(encode("VIEW_COUNT|DESC|1|many"));
+        assertInvalid(encode("CREATED_AT|DESC|1|yesterday"));
+        assertInvalid(encode("VIEW_COUNT|DESC|1"));
+    }
+    
+    private void assertRoundTrip(ContentCursor cursor) {
+        assertEquals(cursor, ContentCursor.decode(cursor.encode()));
+    }
+    
+    private void assertInvalid(String token) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> ContentCursor.decode(token));
+        assertEquals("Invalid cursor", e.getMessage());
+    }
+    
+    private String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,124 @@
+package com.puthelp.repository;
+
+import com.puthelp.config.JpaConfig;
+import com.puthelp.entity.Category;
+import com.puthelp.entity.Content;
+import com.puthelp.entity.Kierunek;
+import com.puthelp.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Guards the fetch plan: loading a page of entities and reading their associations must cost
+ * the same number of statements whatever the page size, and a detail load must not trigger
+ * further selects when its associations are read.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JpaConfig.class)
+@Testcontainers
+class ContentRepositoryStatementCountTest {
+    
+    private static final int CONTENT_COUNT = 30;
+    
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+    
+    @Autowired
+    private ContentRepository contentRepository;
+    
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private Statistics statistics;
+    
+    private Long lastContentId;
+    
+    @BeforeEach
+    void seed() {
+        // Every content gets its own author, kierunek and category, so a lazy load per row would show
+        for (int i = 0; i < CONTENT_COUNT; i++) {
+            User author = entityManager.persist(new User("author" + i, "author" + i + "@example.com", "secret"));
+            Kierunek kierunek = entityManager.persist(new Kierunek("Kierunek " + i, "K" + i));
+            Category category = entityManager.persist(new Category("Category " + i));
+            
+            Content content = new Content();
+            content.setTitle("Title " + i);
+            content.setBody("Body " + i);
+            content.setType(Content.ContentType.GUIDE);
+            content.setStatus(Content.ContentStatus.PUBLISHED);
+            content.setPublishedAt(LocalDateTime.now());
+            content.setAuthor(author);
+            content.setKierunek(kierunek);
+            content.setCategory(category);
+            lastContentId = entityManager.persist(content).getId();
+        }
+        entityManager.flush();
+        entityManager.clear();
+        
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+    
+    @Test
+    void entityPageCostsTheSameStatementsRegardlessOfPageSize() {
+        long small = statementsForEntityPage(5);
+        long large = statementsForEntityPage(25);
+        
+        // Page query, count query and one batched select per association, never one per row
+        assertEquals(small, large);
+    }
+    
+    @Test
+    void detailLoadFetchesAssociationsWithTheContent() {
+        statistics.clear();
+        Content content = contentRepository.findDetailById(lastContentId).orElseThrow();
+        long afterLoad = statistics.getPrepareStatementCount();
+        
+        content.getAuthor().getUsername();
+        content.getKierunek().getName();
+        content.getCategory().getName();
+        
+        assertEquals(afterLoad, statistics.getPrepareStatementCount());
+    }
+    
+    private long statementsForEntityPage(int size) {
+        entityManager.clear();
+        statistics.clear();
+        
+        Page<Content> page = contentRepository.findAll(ContentSpecifications.published(),
+                PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "createdAt")));
+        
+        // Read every association the converter reads, so lazy loads are counted
+        page.forEach(content -> {
+            content.getAuthor().getUsername();
+            content.getKierunek().getName();
+            content.getCategory().getName();
+        });
+        
+        assertEquals(size, page.getNumberOfElements());
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,113 @@
+package com.puthelp.search;
+
+import com.puthelp.entity.Content;
+import com.puthelp.repository.ContentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FacetIndexTest {
+    
+    @Mock
+    private ContentRepository contentRepository;
+    
+    @InjectMocks
+    private FacetIndex index;
+    
+    @BeforeEach
+    void load() {
+        when(contentRepository.findPublishedFacetSources()).thenReturn(List.of(
+                source(1L, Content.ContentType.GUIDE, 1L, 10L, "java, oop"),
+                source(2L, Content.ContentType.TUTORIAL, 1L, 11L, "Java"),
+                source(3L, Content.ContentType.GUIDE, 2L, 10L, "sql"),
+                source(4L, Content.ContentType.GUIDE, 1L, 11L, null)));
+        index.reload();
+    }
+    
+    @Test
+    void filtersNewestFirstAndCountsEachDimensionUnderTheOtherSelections() {
+        FacetIndex.FacetResult result = index.query(select(FacetIndex.TYPE, "GUIDE"), 0, 10);
+        
+        assertEquals(List.of(4L, 3L, 1L), result.ids());
+        assertEquals(3, result.total());
+        // The type facet ignores the type selection, so the alternative still shows its count
+        assertEquals(List.of(new FacetValue("GUIDE", "GUIDE", 3), new FacetValue("TUTORIAL", "TUTORIAL", 1)),
+                result.facets().get(FacetIndex.TYPE));
+        assertEquals(List.of(new FacetValue("1", "Kierunek 1", 2), new FacetValue("2", "Kierunek 2", 1)),
+                result.facets().get(FacetIndex.KIERUNEK));
+        assertEquals(List.of(new FacetValue("10", "Category 10", 2), new FacetValue("11", "Category 11", 1)),
+                result.facets().get(FacetIndex.CATEGORY));
+        assertEquals(List.of(new FacetValue("java", "java", 1), new FacetValue("oop", "oop", 1),
+                new FacetValue("sql", "sql", 1)), result.facets().get(FacetIndex.TAG));
+    }
+    
+    @Test
+    void intersectsSelectionsAndPages() {
+        Map<String, String> selection = select(FacetIndex.TYPE, "GUIDE");
+        selection.put(FacetIndex.KIERUNEK, "1");
+        
+        FacetIndex.FacetResult result = index.query(selection, 1, 1);
+        
+        assertEquals(List.of(1L), result.ids());
+        assertEquals(2, result.total());
+    }
+    
+    @Test
+    void tagSelectionIsNormalizedAndUnknownValuesMatchNothing() {
+        assertEquals(List.of(2L, 1L), index.query(select(FacetIndex.TAG, " JAVA "), 0, 10).ids());
+        assertEquals(0, index.query(select(FacetIndex.CATEGORY, "99"), 0, 10).total());
+    }
+    
+    @Test
+    void contentChangeLeavesThePublishedSnapshotUntouched() {
+        Object published = ReflectionTestUtils.getField(index, "snapshot");
+        
+        when(contentRepository.findPublishedFacetSource(2L))
+                .thenReturn(Optional.of(source(2L, Content.ContentType.TUTORIAL, 1L, 10L, "sql")));
+        index.onEvict("2");
+        
+        assertEquals(List.of(3L, 2L, 1L), index.query(select(FacetIndex.CATEGORY, "10"), 0, 10).ids());
+        assertEquals(List.of(1L), index.query(select(FacetIndex.TAG, "java"), 0, 10).ids());
+        
+        // Readers still holding the previous snapshot see it as it was
+        ReflectionTestUtils.setField(index, "snapshot", published);
+        assertEquals(List.of(3L, 1L), index.query(select(FacetIndex.CATEGORY, "10"), 0, 10).ids());
+        assertEquals(List.of(2L, 1L), index.query(select(FacetIndex.TAG, "java"), 0, 10).ids());
+    }
+    
+    @Test
+    void unpublishedContentDropsValuesNoContentHasAnyMore() {
+        when(contentRepository.findPublishedFacetSource(3L)).thenReturn(Optional.empty());
+        index.onEvict("3");
+        
+        FacetIndex.FacetResult result = index.query(Map.of(), 0, 10);
+        
+        assertEquals(List.of(4L, 2L, 1L), result.ids());
+        assertEquals(List.of(new FacetValue("1", "Kierunek 1", 3)), result.facets().get(FacetIndex.KIERUNEK));
+        assertEquals(List.of(new FacetValue("java", "java", 2), new FacetValue("oop", "oop", 1)),
+                result.facets().get(FacetIndex.TAG));
+    }
+    
+    private static Map<String, String> select(String dimension, String value) {
+        Map<String, String> selection = new HashMap<>();
+        selection.put(dimension, value);
+        return selection;
+    }
+    
+    private static FacetSource source(Long id, Content.ContentType type, Long kierunekId, Long categoryId, String tags) {
+        return new FacetSource(id, type, kierunekId, "Kierunek " + kierunekId, categoryId, "Category " + categoryId, tags);
+    }
+}
@@ -0,0 +1,94 @@
+package com.puthelp.search;
+
+import com.puthelp.repository.ContentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SuggestionIndexTest {
+    
+    @Mock
+    private ContentRepository contentRepository;
+    
+    @InjectMocks
+    private SuggestionIndex index;
+    
+    @Test
+    void completesEveryWordStartIgnoringCaseAndDiacritics() {
+        load(new SuggestionSource(1L, "Wstęp do algorytmów", null, 10L));
+        
+        assertEquals(List.of("Wstęp do algorytmów"), index.suggest("ALGO", 10));
+        assertEquals(List.of("Wstęp do algorytmów"), index.suggest("wstep", 10));
+        assertEquals(List.of(), index.suggest("grafy", 10));
+    }
+    
+    @Test
+    void topListMergesBranchesByViews() {
+        // "Analiza 1", "Analiza 10" and "Analiza 11" share a branch below "analiza "
+        List<SuggestionSource> sources = new ArrayList<>();
+        for (long i = 1; i <= 12; i++) {
+            sources.add(new SuggestionSource(i, "Analiza " + i, null, i * 10));
+        }
+        load(sources.toArray(SuggestionSource[]::new));
+        
+        List<String> expected = new ArrayList<>();
+        for (int i = 12; i > 12 - SuggestionIndex.MAX_SUGGESTIONS; i--) {
+            expected.add("Analiza " + i);
+        }
+        assertEquals(expected, index.suggest("anal", 20));
+        assertEquals(List.of("Analiza 12", "Analiza 11", "Analiza 10"), index.suggest("analiza 1", 3));
+    }
+    
+    @Test
+    void sharedTagsAreOneSuggestionWeightedByTotalViews() {
+        load(new SuggestionSource(1L, "JavaScript od podstaw", "java", 5L),
+             new SuggestionSource(2L, "Programowanie obiektowe", "java, oop", 7L));
+        
+        assertEquals(List.of("java", "JavaScript od podstaw"), index.suggest("jav", 10));
+    }
+    
+    @Test
+    void contentChangeReplacesOnlyItsOwnSuggestions() {
+        load(new SuggestionSource(1L, "Algebra liniowa", "algebra", 30L),
+             new SuggestionSource(2L, "Algorytmy grafowe", "algebra", 20L),
+             new SuggestionSource(3L, "Analiza matematyczna", null, 10L));
+        assertEquals(List.of("algebra", "Algebra liniowa", "Algorytmy grafowe"), index.suggest("alg", 10));
+        
+        when(contentRepository.findPublishedSuggestionSource(2L))
+                .thenReturn(Optional.of(new SuggestionSource(2L, "Algorytmy i struktury danych", null, 100L)));
+        index.onEvict("2");
+        
+        // Ties on views are broken alphabetically
+        assertEquals(List.of("Algorytmy i struktury danych", "algebra", "Algebra liniowa"), index.suggest("alg", 10));
+        assertEquals(List.of("Algorytmy i struktury danych"), index.suggest("struktury", 10));
+        assertEquals(List.of(), index.suggest("grafowe", 10));
+        assertEquals(List.of("Analiza matematyczna"), index.suggest("ana", 10));
+    }
+    
+    @Test
+    void unpublishedContentDisappearsFromSuggestions() {
+        load(new SuggestionSource(1L, "Bazy danych", "sql", 10L),
+             new SuggestionSource(2L, "Zaawansowany SQL", "sql", 5L));
+        
+        when(contentRepository.findPublishedSuggestionSource(1L)).thenReturn(Optional.empty());
+        index.onEvict("1");
+        
+        assertEquals(List.of(), index.suggest("bazy", 10));
+        assertEquals(List.of("sql", "Zaawansowany SQL"), index.suggest("sq", 10));
+    }
+    
+    private void load(SuggestionSource... sources) {
+        when(contentRepository.findPublishedSuggestionSources()).thenReturn(List.of(sources));
+        index.reload();
+    }
+}
@@ -0,0 +1,87 @@
+package com.puthelp.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating an access token: one verification with the cached key
+ * and parser, against the former filter path that rebuilt both and parsed the token three
+ * times (validate, read the subject, read the type).
+ *
+ * No results are recorded with the code, and the change does not rely on a measured figure:
+ * it removes two of the three parses and the per-call key and parser build outright. Run this
+ * on the deployment hardware before quoting a number.
+ *
+ * Run from the IDE or with the test classpath: {@code java ... com.puthelp.security.JwtVerificationBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+    
+    private static final String SECRET = "mySecretKey123456789012345678901234567890";
+    
+    private JwtUtils jwtUtils;
+    
+    private String token;
+    
+    @Setup
+    public void setup() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "accessTokenExpirationMs", 900000);
+        ReflectionTestUtils.setField(jwtUtils, "refreshTokenExpirationMs", 10800000);
+        jwtUtils.init();
+        
+        UserPrincipal principal = new UserPrincipal(1L, "student", "student@example.com", "secret",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")), true);
+        token = jwtUtils.generateAccessToken(principal, "session");
+    }
+    
+    @Benchmark
+    public VerifiedToken verifyOnce() {
+        return jwtUtils.verify(token).orElseThrow();
+    }
+    
+    @Benchmark
+    public String rebuildAndParseThreeTimes() {
+        parseWithFreshParser(token);
+        String username = parseWithFreshParser(token).getSubject();
+        String type = parseWithFreshParser(token).get("type", String.class);
+        return "access".equals(type) ? username : null;
+    }
+    
+    private static Claims parseWithFreshParser(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
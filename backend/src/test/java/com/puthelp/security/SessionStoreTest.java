@@ -0,0 +1,93 @@
+package com.puthelp.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.redis.DataRedisTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the session scripts against a real Redis, since their logic lives in Lua.
+ */
+@DataRedisTest(properties = {"jwt.refresh.expiration=60000", "auth.sessions.max-per-user=2"})
+@Import(SessionStore.class)
+@Testcontainers
+class SessionStoreTest {
+    
+    @Container
+    @ServiceConnection(name = "redis")
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+    
+    @Autowired
+    private SessionStore sessionStore;
+    
+    @Autowired
+    private RedisTemplate<String, String> redisTemplate;
+    
+    @Test
+    void rotateSucceedsOnlyWithTheCurrentRefreshToken() {
+        sessionStore.signin("rotating", "s1", "access-1", "refresh-1");
+        
+        assertTrue(sessionStore.rotate("rotating", "s1", "refresh-1", "access-2", "refresh-2"));
+        assertTrue(sessionStore.isActive("rotating", "s1", "access-2"));
+        assertFalse(sessionStore.isActive("rotating", "s1", "access-1"));
+        
+        // A replayed refresh token loses, even after a rotation succeeded with it
+        assertFalse(sessionStore.rotate("rotating", "s1", "refresh-1", "access-3", "refresh-3"));
+        assertTrue(sessionStore.isActive("rotating", "s1", "access-2"));
+        assertTrue(sessionStore.rotate("rotating", "s1", "refresh-2", "access-3", "refresh-3"));
+    }
+    
+    @Test
+    void rotateFailsForAnUnknownSession() {
+        sessionStore.signin("unknown", "s1", "access-1", "refresh-1");
+        
+        assertFalse(sessionStore.rotate("unknown", "s2", "refresh-1", "access-2", "refresh-2"));
+        assertFalse(sessionStore.rotate("nobody", "s1", "refresh-1", "access-2", "refresh-2"));
+    }
+    
+    @Test
+    void signinBeyondTheLimitClosesTheSessionClosestToExpiry() throws InterruptedException {
+        assertEquals(0, sessionStore.signin("limited", "s1", "access-1", "refresh-1"));
+        // Expiry has millisecond precision; keep the three sessions apart
+        Thread.sleep(5);
+        assertEquals(0, sessionStore.signin("limited", "s2", "access-2", "refresh-2"));
+        Thread.sleep(5);
+        assertEquals(1, sessionStore.signin("limited", "s3", "access-3", "refresh-3"));
+        
+        assertFalse(sessionStore.isActive("limited", "s1", "access-1"));
+        assertTrue(sessionStore.isActive("limited", "s2", "access-2"));
+        assertTrue(sessionStore.isActive("limited", "s3", "access-3"));
+    }
+    
+    @Test
+    void expiredSessionsAreDroppedBeforeTheLimitIsApplied() {
+        redisTemplate.opsForHash().put("sessions:expiring", "stale", "1|access|refresh");
+        
+        assertEquals(0, sessionStore.signin("expiring", "s1", "access-1", "refresh-1"));
+        assertEquals(0, sessionStore.signin("expiring", "s2", "access-2", "refresh-2"));
+        assertFalse(redisTemplate.opsForHash().hasKey("sessions:expiring", "stale"));
+    }
+    
+    @Test
+    void signoutAndRevokeAllEndSessions() {
+        sessionStore.signin("leaving", "s1", "access-1", "refresh-1");
+        sessionStore.signin("leaving", "s2", "access-2", "refresh-2");
+        
+        sessionStore.signout("leaving", "s1");
+        assertFalse(sessionStore.isActive("leaving", "s1", "access-1"));
+        assertTrue(sessionStore.isActive("leaving", "s2", "access-2"));
+        
+        sessionStore.revokeAll("leaving");
+        assertFalse(sessionStore.isActive("leaving", "s2", "access-2"));
+        assertFalse(sessionStore.rotate("leaving", "s2", "refresh-2", "access-3", "refresh-3"));
+    }
+}
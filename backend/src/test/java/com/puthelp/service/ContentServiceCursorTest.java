@@ -0,0 +1,97 @@
+package com.puthelp.service;
+
+import com.puthelp.dto.content.ContentSummaryDto;
+import com.puthelp.dto.response.CursorPage;
+import com.puthelp.entity.Content;
+import com.puthelp.repository.ContentCursor;
+import com.puthelp.repository.ContentRepository;
+import com.puthelp.repository.ContentSortKey;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ContentServiceCursorTest {
+    
+    @Mock
+    private ContentRepository contentRepository;
+    
+    @InjectMocks
+    private ContentService contentService;
+    
+    @Test
+    void rejectsCursorIssuedForAnotherSortKey() {
+        String cursor = new ContentCursor(ContentSortKey.CREATED_AT, Sort.Direction.DESC,
+                LocalDateTime.of(2024, 3, 1, 12, 0), 42L).encode();
+        
+        assertSortMismatch(() -> contentService.getPublishedContentAfter("viewCount", "desc", cursor, 10));
+    }
+    
+    @Test
+    void rejectsCursorIssuedForTheOtherDirection() {
+        String cursor = new ContentCursor(ContentSortKey.VIEW_COUNT, Sort.Direction.DESC, 10L, 42L).encode();
+        
+        assertSortMismatch(() -> contentService.getPublishedContentAfter("viewCount", "asc", cursor, 10));
+    }
+    
+    @Test
+    void rejectsTamperedCursorBeforeQuerying() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> contentService.getPublishedContentAfter("createdAt", "desc", "bm90IGEgY3Vyc29y", 10));
+        
+        assertEquals("Invalid cursor", e.getMessage());
+        verifyNoInteractions(contentRepository);
+    }
+    
+    @Test
+    void nextCursorPointsAfterTheLastReturnedRow() {
+        when(contentRepository.findSummaryWindow(any(), eq(Sort.by(Sort.Direction.DESC, "viewCount")
+                .and(Sort.by(Sort.Direction.DESC, "id"))), eq(0L), eq(3)))
+                .thenReturn(List.of(summary(5L, 30L), summary(4L, 20L), summary(3L, 10L)));
+        
+        CursorPage<ContentSummaryDto> page = contentService.getPublishedContentAfter("viewCount", "desc", null, 2);
+        
+        assertEquals(2, page.getContent().size());
+        assertEquals(new ContentCursor(ContentSortKey.VIEW_COUNT, Sort.Direction.DESC, 20L, 4L),
+                ContentCursor.decode(page.getNextCursor()));
+    }
+    
+    @Test
+    void lastPageHasNoNextCursor() {
+        when(contentRepository.findSummaryWindow(any(), any(), eq(0L), eq(3)))
+                .thenReturn(List.of(summary(5L, 30L)));
+        
+        CursorPage<ContentSummaryDto> page = contentService.getPublishedContentAfter("viewCount", "desc", null, 2);
+        
+        assertEquals(1, page.getContent().size());
+        assertNull(page.getNextCursor());
+    }
+    
+    private void assertSortMismatch(Runnable request) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, request::run);
+        
+        assertEquals("Cursor does not match the requested sort", e.getMessage());
+        verifyNoInteractions(contentRepository);
+    }
+    
+    private ContentSummaryDto summary(Long id, Long viewCount) {
+        LocalDateTime time = LocalDateTime.of(2024, 3, 1, 12, 0);
+        return new ContentSummaryDto(id, "Title " + id, null, null, Content.ContentType.GUIDE,
+                Content.ContentStatus.PUBLISHED, null, viewCount, 1L, "author", null, null, null, null,
+                time, time, time);
+    }
+}
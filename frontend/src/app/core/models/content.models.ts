@@ -1,8 +1,9 @@
 export interface Content {
   id: number;
   title: string;
-  body: string;
+  body?: string; // only present on detail responses
   summary?: string;
+  excerpt?: string; // start of the body, sent by list endpoints when there is no summary
   type: ContentType;
   status: ContentStatus;
   authorId: number;
@@ -13,6 +14,7 @@ export interface Content {
   categoryName?: string;
   tags?: string;
   viewCount: number;
+  uniqueViews?: number;
   createdAt: string;
   updatedAt: string;
   publishedAt?: string;
@@ -42,6 +44,31 @@ export interface ContentRequest {
   categoryId?: number;
 }
 
+export interface ContentFilter {
+  type?: ContentType;
+  kierunekId?: number;
+  categoryId?: number;
+  tag?: string;
+  from?: string; // yyyy-MM-dd, inclusive
+  to?: string; // yyyy-MM-dd, inclusive
+}
+
+export interface TagCount {
+  name: string;
+  count: number;
+}
+
+export interface FacetValue {
+  value: string;
+  label: string;
+  count: number;
+}
+
+export interface FacetResponse {
+  results: Page<Content>;
+  facets: { [dimension: string]: FacetValue[] };
+}
+
 export interface Page<T> {
   content: T[];
   totalElements: number;
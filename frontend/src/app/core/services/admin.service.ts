@@ -22,6 +22,12 @@ export interface SystemStats {
   draftContent: number;
   totalCategories: number;
   totalKieruneks: number;
+  usersByRole?: { [role: string]: number };
+  contentByStatus?: { [status: string]: number };
+  contentByType?: { [type: string]: number };
+  activeCategories?: number;
+  activeKieruneks?: number;
+  reconciledAt?: string;
 }
 
 @Injectable({
@@ -34,8 +40,6 @@ export class AdminService {
 
   // System Statistics
   getSystemStats(): Observable<SystemStats> {
-    // This will be implemented with actual backend endpoints
-    // For now, we'll aggregate from existing endpoints
     return this.http.get<SystemStats>(`${this.API_URL}/admin/stats`);
   }
 
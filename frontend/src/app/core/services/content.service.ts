@@ -1,7 +1,7 @@
 import { Injectable } from '@angular/core';
 import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
-import { Content, ContentRequest, Page, Category } from '../models/content.models';
+import { Content, ContentFilter, ContentRequest, FacetResponse, Page, Category, TagCount } from '../models/content.models';
 import { Kierunek, MessageResponse } from '../models/auth.models';
 import { environment } from '../../../environments/environment';
 
@@ -35,6 +35,37 @@ export class ContentService {
     return this.http.get<Page<Content>>(`${this.API_URL}/content/public`, { params });
   }
 
+  queryContent(filter: ContentFilter, page = 0, size = 10, sortBy = 'createdAt', sortDir = 'desc'): Observable<Page<Content>> {
+    let params = new HttpParams()
+      .set('page', page.toString())
+      .set('size', size.toString())
+      .set('sortBy', sortBy)
+      .set('sortDir', sortDir);
+    
+    Object.entries(filter).forEach(([key, value]) => {
+      if (value !== undefined && value !== null && value !== '') {
+        params = params.set(key, value.toString());
+      }
+    });
+    
+    return this.http.get<Page<Content>>(`${this.API_URL}/content/public/query`, { params });
+  }
+
+  getFacets(filter: ContentFilter, page = 0, size = 10): Observable<FacetResponse> {
+    let params = new HttpParams()
+      .set('page', page.toString())
+      .set('size', size.toString());
+    
+    (['type', 'kierunekId', 'categoryId', 'tag'] as const).forEach(key => {
+      const value = filter[key];
+      if (value !== undefined && value !== null && value !== '') {
+        params = params.set(key, value.toString());
+      }
+    });
+    
+    return this.http.get<FacetResponse>(`${this.API_URL}/content/public/facets`, { params });
+  }
+
   getPublishedContentById(id: number): Observable<Content> {
     return this.http.get<Content>(`${this.API_URL}/content/public/${id}`);
   }
@@ -55,15 +86,46 @@ export class ContentService {
     return this.http.get<Page<Content>>(`${this.API_URL}/content/public/category/${categoryId}`, { params });
   }
 
-  searchContent(query: string, page = 0, size = 10): Observable<Page<Content>> {
+  searchContent(query: string, page = 0, size = 10, fuzzy = false): Observable<Page<Content>> {
     const params = new HttpParams()
       .set('q', query)
+      .set('fuzzy', fuzzy.toString())
       .set('page', page.toString())
       .set('size', size.toString());
     
     return this.http.get<Page<Content>>(`${this.API_URL}/content/public/search`, { params });
   }
 
+  getSuggestions(prefix: string, limit = 10): Observable<string[]> {
+    const params = new HttpParams()
+      .set('prefix', prefix)
+      .set('limit', limit.toString());
+    
+    return this.http.get<string[]>(`${this.API_URL}/content/public/suggest`, { params });
+  }
+
+  getContentByTag(tag: string, page = 0, size = 10): Observable<Page<Content>> {
+    const params = new HttpParams()
+      .set('page', page.toString())
+      .set('size', size.toString());
+    
+    return this.http.get<Page<Content>>(`${this.API_URL}/content/public/tag/${encodeURIComponent(tag)}`, { params });
+  }
+
+  getTagCloud(limit = 50): Observable<TagCount[]> {
+    const params = new HttpParams().set('limit', limit.toString());
+    
+    return this.http.get<TagCount[]>(`${this.API_URL}/content/public/tags`, { params });
+  }
+
+  getTrendingContent(page = 0, size = 10): Observable<Page<Content>> {
+    const params = new HttpParams()
+      .set('page', page.toString())
+      .set('size', size.toString());
+    
+    return this.http.get<Page<Content>>(`${this.API_URL}/content/public/trending`, { params });
+  }
+
   // Protected content endpoints
   createContent(content: ContentRequest): Observable<Content> {
     return this.http.post<Content>(`${this.API_URL}/content`, content);
@@ -3,7 +3,6 @@ import { CommonModule } from '@angular/common';
 import { RouterModule } from '@angular/router';
 import { FormsModule } from '@angular/forms';
 import { AdminService, SystemStats } from '../../../core/services/admin.service';
-import { ContentService } from '../../../core/services/content.service';
 import { AuthService } from '../../../core/services/auth.service';
 import { User } from '../../../core/models/auth.models';
 
@@ -315,7 +314,6 @@ import { User } from '../../../core/models/auth.models';
 })
 export class AdminDashboardComponent implements OnInit {
   private adminService = inject(AdminService);
-  private contentService = inject(ContentService);
   private authService = inject(AuthService);
 
   // State
@@ -347,43 +345,20 @@ export class AdminDashboardComponent implements OnInit {
 
   private loadDashboardData(): void {
     this.isLoading = true;
-    
-    // For now, we'll calculate stats manually from existing endpoints
-    // until we implement the stats endpoint
-    this.calculateStats();
+    this.loadStats();
   }
 
-  private calculateStats(): void {
-    // Get content stats
-    this.contentService.getPublishedContent(0, 1000).subscribe({
-      next: (contentPage) => {
-        this.stats.totalContent = contentPage.totalElements || 0;
-        this.stats.publishedContent = contentPage.totalElements || 0;
-      },
-      error: () => {
-        this.stats.totalContent = 0;
-        this.stats.publishedContent = 0;
-      }
-    });
-
-    // Get user stats
-    this.adminService.getAllUsers({ page: 0, size: 1000 }).subscribe({
-      next: (usersPage) => {
-        this.stats.totalUsers = usersPage.totalElements || 0;
-        this.stats.activeUsers = usersPage.content?.filter(user => user.isActive).length || 0;
+  private loadStats(): void {
+    // Totals are aggregated on the server; no need to download content or users here
+    this.adminService.getSystemStats().subscribe({
+      next: (stats) => {
+        this.stats = stats;
+        this.isLoading = false;
       },
       error: () => {
-        this.stats.totalUsers = 0;
-        this.stats.activeUsers = 0;
+        this.isLoading = false;
       }
     });
-
-    // Set some default stats for now
-    this.stats.draftContent = 0;
-    this.stats.totalCategories = 5;
-    this.stats.totalKieruneks = 3;
-    
-    this.isLoading = false;
   }
 
   // User Management Methods
@@ -247,17 +247,18 @@ export class ContentListComponent implements OnInit {
   }
 
   getContentPreview(content: Content): string {
-    // Use summary if available, otherwise strip markdown from body
+    // Use summary if available, otherwise strip markdown from the body excerpt
     if (content.summary) {
       return content.summary;
     }
     
-    if (!content.body) {
+    const text = content.body || content.excerpt;
+    if (!text) {
       return '';
     }
     
     // Strip markdown formatting for preview
-    let plainText = content.body
+    let plainText = text
       // Remove markdown headers
       .replace(/^#{1,6}\s+/gm, '')
       // Remove bold/italic markers
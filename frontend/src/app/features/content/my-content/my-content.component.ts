@@ -142,7 +142,7 @@ import { marked } from 'marked';
                 <tr *ngFor="let content of contents" class="hover:bg-gray-50">
                   <td class="px-6 py-4 whitespace-nowrap">
                     <div class="text-sm font-medium text-gray-900">{{ content.title }}</div>
-                    <div class="text-sm text-gray-500">{{ content.summary || getContentPreview(content.body) }}</div>
+                    <div class="text-sm text-gray-500">{{ content.summary || getContentPreview(content.body || content.excerpt || '') }}</div>
                   </td>
                   <td class="px-6 py-4 whitespace-nowrap">
                     <span class="inline-flex items-center px-2.5 py-0.5 rounded-full text-xs font-medium"
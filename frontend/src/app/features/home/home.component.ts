@@ -139,7 +139,7 @@ import { marked } from 'marked';
                 </a>
               </h3>
               
-              <p class="text-gray-600 mb-4">{{ content.summary || getContentPreview(content.body) }}</p>
+              <p class="text-gray-600 mb-4">{{ content.summary || getContentPreview(content.body || content.excerpt || '') }}</p>
               
               <div class="flex items-center justify-between text-sm text-gray-500">
                 <span>By {{ content.authorUsername }}</span>